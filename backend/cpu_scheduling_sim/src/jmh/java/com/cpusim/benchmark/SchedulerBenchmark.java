@@ -0,0 +1,94 @@
+/*
+    JMH benchmark of every scheduler over workload size and shape.
+    Run through the benchmark Maven profile, see pom.xml. Sizes go from 10 to 1M processes; pick a subset
+    with -p size=... since the largest ones take a while, especially with the full timeline recorded.
+ */
+
+package com.cpusim.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class SchedulerBenchmark {
+
+    public enum Shape {
+        // Long bursts arriving faster than they finish, so the ready queue keeps growing
+        BURST_HEAVY,
+        // Short bursts spread far apart, the CPU is idle most of the time
+        IDLE_GAPS,
+        // Everything arrives at t0
+        SAME_ARRIVAL
+    }
+
+    @Param({ "fcfs", "sjf", "srtf", "pp", "rr" })
+    private String algorithm;
+
+    @Param({ "10", "1000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "BURST_HEAVY", "IDLE_GAPS", "SAME_ARRIVAL" })
+    private Shape shape;
+
+    // FULL records the timeline and Gantt chart, METRICS_ONLY just the aggregates
+    @Param({ "FULL", "METRICS_ONLY" })
+    private String recording;
+
+    private Scheduler scheduler;
+    private Workload workload;
+    private SimulationOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = switch (algorithm) {
+            case "fcfs" -> new FCFSScheduler();
+            case "sjf" -> new SJFScheduler();
+            case "srtf" -> new SRTFScheduler();
+            case "pp" -> new PPScheduler();
+            case "rr" -> new RRScheduler(4);
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        };
+        options = recording.equals("FULL") ? SimulationOptions.FULL : SimulationOptions.METRICS_ONLY;
+        workload = workload(shape, size, new SplittableRandom(42));
+    }
+
+    @Benchmark
+    public SimulationResult schedule() {
+        return scheduler.schedule(workload, options);
+    }
+
+    static Workload workload(Shape shape, int size, SplittableRandom random) {
+        Workload.Builder builder = new Workload.Builder(size);
+        for (int pid = 1; pid <= size; pid++) {
+            int priority = random.nextInt(1, 11);
+            switch (shape) {
+                case BURST_HEAVY -> builder.add(pid, random.nextInt(20, 101), priority, random.nextInt(size));
+                case IDLE_GAPS -> builder.add(pid, random.nextInt(1, 11), priority, pid * 20 + random.nextInt(10));
+                case SAME_ARRIVAL -> builder.add(pid, random.nextInt(1, 21), priority, 0);
+            }
+        }
+        return builder.build();
+    }
+}
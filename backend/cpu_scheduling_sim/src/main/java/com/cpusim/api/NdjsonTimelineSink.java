@@ -0,0 +1,64 @@
+/*
+    Writes a streamed simulation as newline-delimited JSON (application/x-ndjson).
+    Every chunk of timeline events becomes one line holding a JSON array of events and is flushed to the
+    client right away. The last line is the result object with the metrics and an empty timeline.
+ */
+
+package com.cpusim.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.scheduling.TimelineSink;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class NdjsonTimelineSink implements TimelineSink {
+    private final JsonGenerator generator;
+    private boolean inChunk;
+
+    NdjsonTimelineSink(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // Lines are separated by newlines instead of the default space between root values
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void accept(TimelineEvent event) {
+        try {
+            if (!inChunk) {
+                generator.writeStartArray();
+                inChunk = true;
+            }
+            generator.writeObject(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (!inChunk) {
+            return;
+        }
+        try {
+            generator.writeEndArray();
+            generator.writeRaw('\n');
+            generator.flush();
+            inChunk = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Ends the stream with the metrics line
+    void finish(SimulationResult result) throws IOException {
+        flush();
+        generator.writeObject(result);
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+}
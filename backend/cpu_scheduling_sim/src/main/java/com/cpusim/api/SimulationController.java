@@ -6,31 +6,61 @@
 
 package com.cpusim.api;
 
+import com.cpusim.model.CacheStats;
+import com.cpusim.model.ComparisonResult;
+import com.cpusim.model.CostAccuracy;
+import com.cpusim.model.CostEstimate;
+import com.cpusim.model.ExperimentResult;
+import com.cpusim.model.JobStatus;
+import com.cpusim.model.MultiCoreResult;
 import com.cpusim.model.Process;
+import com.cpusim.model.QuantumSweepResult;
 import com.cpusim.model.QuizData;
 import com.cpusim.model.QuizResult;
 import com.cpusim.model.QuizSubmission;
 import com.cpusim.model.SimulationResult;
+import com.cpusim.scheduling.MultiCoreOptions;
+import com.cpusim.service.JobQueueFullException;
+import com.cpusim.service.SimulationRejectedException;
 import com.cpusim.service.SimulationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/simulation")
 public class SimulationController {
 
+    // Identifies the client's workspace, requests without it share the default workspace
+    static final String SESSION_HEADER = "X-Session-Id";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final SimulationService simulationService;
+    private final ObjectMapper objectMapper;
 
-    public SimulationController(SimulationService simulationService) {
+    public SimulationController(SimulationService simulationService, ObjectMapper objectMapper) {
         this.simulationService = simulationService;
+        this.objectMapper = objectMapper;
     }
 
     // Endpoint to add a process. Accepts an array of processes to add. PID starts
     // at 1 and auto increments.
     @PostMapping("/processes")
-    public ResponseEntity<String> addProcesses(@RequestBody int[][] processData) {
-        simulationService.clearProcesses(); // Clear existing processes
+    public ResponseEntity<String> addProcesses(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestBody int[][] processData) {
+        List<Process> processes = new ArrayList<>(processData.length);
         for (int i = 0; i < processData.length; i++) {
             int[] data = processData[i];
             Process process = new Process(
@@ -39,11 +69,23 @@ public class SimulationController {
                     data[1], // priority
                     data[2] // arrivalTime
             );
-            simulationService.addProcess(process);
+            processes.add(process);
         }
+        simulationService.setProcesses(sessionId, processes); // Replaces existing processes
         return ResponseEntity.ok("Processes added successfully.");
     }
 
+    // Endpoint to bulk import processes from a workload file sent as the request body: CSV rows of
+    // burst,priority,arrival (or pid,burst,priority,arrival), or the binary format from WorkloadFiles.
+    // Replaces the existing processes like POST /processes.
+    @PostMapping("/processes/import")
+    public ResponseEntity<String> importProcesses(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            InputStream body) {
+        int count = simulationService.importProcesses(sessionId, body);
+        return ResponseEntity.ok("Imported " + count + " processes.");
+    }
+
     @GetMapping("/ping")
     public String ping() {
         return "pong";
@@ -51,27 +93,233 @@ public class SimulationController {
 
     // Endpoint to return all added processes
     @GetMapping("/processes")
-    public ResponseEntity<?> getProcesses() {
-        return ResponseEntity.ok(simulationService.getProcesses());
+    public ResponseEntity<?> getProcesses(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        return ResponseEntity.ok(simulationService.getProcesses(sessionId));
     }
 
     // Endpoint to run the simulation with specified algorithm and quantum (if
-    // applicable)
+    // applicable). Pass events=false to get only the Gantt segments and metrics
+    // without the point-event timeline, which is much smaller for long runs.
+    // 422 if the cost model rejects the run. With async=true, runs it predicts to be slow
+    // are started as a job instead: 202 with the job status and a Location to poll, like POST /jobs.
     @PostMapping("/simulate")
-    public ResponseEntity<SimulationResult> runSimulation(
+    public ResponseEntity<?> runSimulation(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam("algorithm") String algorithm,
+            @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum,
+            @RequestParam(value = "events", required = false, defaultValue = "true") boolean includeEvents,
+            @RequestParam(value = "async", required = false, defaultValue = "false") boolean async) {
+        SimulationResult result;
+        if (async) {
+            // submitJob prices the run once and simulates cheap runs inline, so those come back DONE
+            JobStatus job = simulationService.submitJob(sessionId, algorithm, quantum);
+            if (job.getState() == JobStatus.State.FAILED) {
+                throw new IllegalStateException(job.getError());
+            }
+            result = job.getState() == JobStatus.State.DONE ? simulationService.getJobResult(job.getId()) : null;
+            if (result == null) {
+                return jobResponse(job);
+            }
+        } else {
+            result = simulationService.runSimulation(sessionId, algorithm, quantum);
+        }
+        return ResponseEntity.ok(includeEvents ? result : result.withoutTimeline());
+    }
+
+    // Endpoint to get the cost model's estimate for a simulation of the current processes without running it:
+    // predicted run time and timeline size, and whether /simulate would run it, start a job or reject it
+    @GetMapping("/estimate")
+    public ResponseEntity<CostEstimate> estimateCost(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
             @RequestParam("algorithm") String algorithm,
             @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum) {
-        SimulationResult result = simulationService.runSimulation(algorithm, quantum);
+        return ResponseEntity.ok(simulationService.estimateCost(sessionId, algorithm, quantum));
+    }
+
+    // Endpoint to compare the cost model's predictions with the measured run times, per algorithm
+    @GetMapping("/cost")
+    public ResponseEntity<List<CostAccuracy>> getCostAccuracy() {
+        return ResponseEntity.ok(simulationService.getCostAccuracy());
+    }
+
+    // The run would never finish or is over the configured limits
+    @ExceptionHandler(SimulationRejectedException.class)
+    public ResponseEntity<String> simulationRejected(SimulationRejectedException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getMessage());
+    }
+
+    // Streaming variant of /simulate for long runs. Responds with newline-delimited JSON: one line per
+    // chunk of timeline events (a JSON array) flushed as the scheduler produces them, then a final line
+    // with the result metrics. The server never holds more than one chunk of events.
+    @PostMapping("/simulate/stream")
+    public ResponseEntity<StreamingResponseBody> streamSimulation(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam("algorithm") String algorithm,
+            @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum) {
+        // Once the body starts the status is sent, so rejections have to come first
+        simulationService.admitStreamed(sessionId, algorithm, quantum);
+        StreamingResponseBody body = out -> {
+            NdjsonTimelineSink sink = new NdjsonTimelineSink(objectMapper, out);
+            SimulationResult result = simulationService.streamSimulation(sessionId, algorithm, quantum, sink);
+            sink.finish(result);
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Endpoint to download the simulation's timeline as a binary trace file (see TraceWriter) for archiving.
+    // Open it later with TraceReader to look up events by time without running the simulation again.
+    @PostMapping("/simulate/trace")
+    public ResponseEntity<StreamingResponseBody> exportTrace(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam("algorithm") String algorithm,
+            @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum) {
+        simulationService.admitStreamed(sessionId, algorithm, quantum);
+        StreamingResponseBody body = out -> simulationService.exportTrace(sessionId, algorithm, quantum, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("Content-Disposition", "attachment; filename=\"timeline.trace\"")
+                .body(body);
+    }
+
+    // Endpoint to start the simulation as a background job instead of running it on the request thread.
+    // Responds 202 with the job status (its id and a Location to poll), or 200 with a finished job when the
+    // workload was small enough to simulate right away. 429 with Retry-After when the job queue is full.
+    @PostMapping("/jobs")
+    public ResponseEntity<JobStatus> submitJob(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam("algorithm") String algorithm,
+            @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum) {
+        return jobResponse(simulationService.submitJob(sessionId, algorithm, quantum));
+    }
+
+    private static ResponseEntity<JobStatus> jobResponse(JobStatus job) {
+        boolean pending = job.getState() == JobStatus.State.QUEUED || job.getState() == JobStatus.State.RUNNING;
+        return ResponseEntity.status(pending ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .location(URI.create("/api/simulation/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    // Endpoint to poll a job's status, 404 for unknown or long finished jobs
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<JobStatus> getJob(@PathVariable("id") String id) {
+        JobStatus job = simulationService.getJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    // Endpoint to fetch a finished job's result. Responds 409 with the status while the job is not DONE.
+    // Pass events=false to leave out the point-event timeline like /simulate.
+    @GetMapping("/jobs/{id}/result")
+    public ResponseEntity<?> getJobResult(
+            @PathVariable("id") String id,
+            @RequestParam(value = "events", required = false, defaultValue = "true") boolean includeEvents) {
+        JobStatus job = simulationService.getJob(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SimulationResult result = simulationService.getJobResult(id);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+        }
+        return ResponseEntity.ok(includeEvents ? result : result.withoutTimeline());
+    }
+
+    // Endpoint to cancel a queued or running job, returns its status afterwards
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<JobStatus> cancelJob(@PathVariable("id") String id) {
+        JobStatus job = simulationService.cancelJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    // Invalid input, e.g. a malformed or oversized workload file, an unknown algorithm or an out-of-range
+    // parameter
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // Too many jobs waiting: tell the client when to try again instead of queueing without bound
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<String> jobQueueFull(JobQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    // Endpoint to run every algorithm on the current processes in parallel and compare them. Pass
+    // timeline=false to only get the metrics and per-algorithm wall times.
+    @PostMapping("/compare")
+    public ResponseEntity<ComparisonResult> compareAlgorithms(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum,
+            @RequestParam(value = "timeline", required = false, defaultValue = "true") boolean includeTimeline) {
+        ComparisonResult result = simulationService.compareAlgorithms(sessionId, quantum, includeTimeline);
+        return ResponseEntity.ok(result);
+    }
+
+    // Endpoint to sweep the Round Robin quantum over [min, max] on the current processes. Returns the
+    // waiting, turnaround and context switch curves. Pass refine=true to evaluate a coarse grid of
+    // 'points' quanta and then narrow in on the best one instead of running every quantum.
+    @PostMapping("/sweep")
+    public ResponseEntity<QuantumSweepResult> sweepQuantum(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam(value = "min", required = false, defaultValue = "1") int minQuantum,
+            @RequestParam(value = "max", required = false, defaultValue = "20") int maxQuantum,
+            @RequestParam(value = "refine", required = false, defaultValue = "false") boolean refine,
+            @RequestParam(value = "points", required = false, defaultValue = "16") int coarsePoints) {
+        QuantumSweepResult result = simulationService.sweepQuantum(sessionId, minQuantum, maxQuantum, refine,
+                coarsePoints);
+        return ResponseEntity.ok(result);
+    }
+
+    // Endpoint to run a Monte Carlo experiment: every algorithm on 'replications' random workloads, with
+    // mean, variance, 95% confidence interval and percentiles per algorithm. The same seed gives the same
+    // result.
+    @PostMapping("/experiment")
+    public ResponseEntity<ExperimentResult> runExperiment(
+            @RequestParam(value = "replications", required = false, defaultValue = "10000") int replications,
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum) {
+        ExperimentResult result = simulationService.runExperiment(replications, seed, quantum);
+        return ResponseEntity.ok(result);
+    }
+
+    // Endpoint to run an algorithm on 'cores' simulated cores. Placement is LEAST_LOADED or ROUND_ROBIN and
+    // balancer is WORK_STEALING or NONE; 'steal' is how many processes must be waiting on a core before an
+    // idle core takes one. Returns per-core utilization, context switches and, with timeline=true, the
+    // per-core Gantt segments.
+    @PostMapping("/simulate/multicore")
+    public ResponseEntity<MultiCoreResult> runMultiCore(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam("algorithm") String algorithm,
+            @RequestParam(value = "quantum", required = false, defaultValue = "2") int quantum,
+            @RequestParam(value = "cores", required = false, defaultValue = "4") int cores,
+            @RequestParam(value = "placement", required = false, defaultValue = "LEAST_LOADED")
+            MultiCoreOptions.Placement placement,
+            @RequestParam(value = "balancer", required = false, defaultValue = "WORK_STEALING")
+            MultiCoreOptions.Balancer balancer,
+            @RequestParam(value = "steal", required = false, defaultValue = "1") int stealThreshold,
+            @RequestParam(value = "timeline", required = false, defaultValue = "true") boolean includeTimeline) {
+        MultiCoreOptions options = new MultiCoreOptions(cores, placement, balancer, stealThreshold);
+        MultiCoreResult result = simulationService.runMultiCore(sessionId, algorithm, quantum, options,
+                includeTimeline);
         return ResponseEntity.ok(result);
     }
 
     // Endpoint to get the last simulation result
     @GetMapping("/result")
-    public ResponseEntity<SimulationResult> getLastResult() {
-        SimulationResult result = simulationService.getLastResult();
+    public ResponseEntity<SimulationResult> getLastResult(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        SimulationResult result = simulationService.getLastResult(sessionId);
         return ResponseEntity.ok(result);
     }
 
+    // Endpoint to get the result cache's hit/miss counters and size
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return ResponseEntity.ok(simulationService.getCacheStats());
+    }
+
     // Endpoint to generate a random quiz
     @GetMapping("/quiz/generate")
     public ResponseEntity<QuizData> generateQuiz() {
@@ -79,10 +327,13 @@ public class SimulationController {
         return ResponseEntity.ok(quizData);
     }
 
-    // Endpoint to submit quiz answers and get results
+    // Endpoint to submit quiz answers and get results. Pass timeline=false to grade
+    // without recording the timeline of the actual result.
     @PostMapping("/quiz/submit")
-    public ResponseEntity<QuizResult> submitQuizAnswers(@RequestBody QuizSubmission submission) {
-        QuizResult result = simulationService.checkQuizAnswers(submission);
+    public ResponseEntity<QuizResult> submitQuizAnswers(
+            @RequestBody QuizSubmission submission,
+            @RequestParam(value = "timeline", required = false, defaultValue = "true") boolean includeTimeline) {
+        QuizResult result = simulationService.checkQuizAnswers(submission, includeTimeline);
         return ResponseEntity.ok(result);
     }
 }
@@ -0,0 +1,170 @@
+/*
+    Writes SimulationResult JSON straight from the scheduler's TimelineBuffer, GanttChart and ProcessMetrics.
+    Bean serialization would create a TimelineEvent per event, a GanttSegment per segment and a boxed map entry
+    per process and look every property up by reflection; here each field is written with JsonGenerator from
+    the packed arrays. The output is the same JSON, property for property, as the default bean serializer.
+    Registered with Spring's ObjectMapper through @JsonComponent, so it also applies to results nested in
+    comparisons, quiz results and the last line of a streamed simulation.
+ */
+
+package com.cpusim.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+import com.cpusim.model.GanttChart;
+import com.cpusim.model.GanttSegment;
+import com.cpusim.model.ProcessMetrics;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineBuffer;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.TimelineEvent.EventType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+@JsonComponent
+public class SimulationResultSerializer extends JsonSerializer<SimulationResult> {
+
+    @Override
+    public Class<SimulationResult> handledType() {
+        return SimulationResult.class;
+    }
+
+    @Override
+    public void serialize(SimulationResult result, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(result);
+
+        generator.writeFieldName("timeline");
+        if (result.timelineBuffer() != null) {
+            writeTimeline(result.timelineBuffer(), generator);
+        } else {
+            writeTimeline(result.getTimeline(), generator);
+        }
+
+        generator.writeFieldName("segments");
+        if (result.ganttChart() != null) {
+            writeSegments(result.ganttChart(), generator);
+        } else {
+            writeSegments(result.getSegments(), generator);
+        }
+
+        generator.writeNumberField("averageWaitingTime", result.getAverageWaitingTime());
+        generator.writeNumberField("averageTurnaroundTime", result.getAverageTurnaroundTime());
+        generator.writeNumberField("totalContextSwitches", result.getTotalContextSwitches());
+
+        ProcessMetrics metrics = result.processMetrics();
+        if (metrics != null) {
+            writeMetric("completionTimes", metrics, metrics::completionTime, generator);
+            writeMetric("waitingTimes", metrics, metrics::waitingTime, generator);
+            writeMetric("turnaroundTimes", metrics, metrics::turnaroundTime, generator);
+        } else {
+            writeMap("completionTimes", result.getCompletionTimes(), generator);
+            writeMap("waitingTimes", result.getWaitingTimes(), generator);
+            writeMap("turnaroundTimes", result.getTurnaroundTimes(), generator);
+        }
+
+        generator.writeEndObject();
+    }
+
+    private static void writeTimeline(TimelineBuffer timeline, JsonGenerator generator) throws IOException {
+        int size = timeline.size();
+        generator.writeStartArray(null, size);
+        for (int i = 0; i < size; i++) {
+            EventType type = timeline.type(i);
+            // Idle and finish events have no burst remaining or priority, see TimelineBuffer.event
+            boolean hasDetails = type != EventType.CPU_IDLE && type != EventType.PROCESS_FINISH;
+            writeEvent(generator, timeline.time(i), timeline.pid(i), type, hasDetails,
+                    hasDetails ? timeline.burstRemaining(i) : 0, hasDetails ? timeline.priority(i) : 0);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeTimeline(List<TimelineEvent> timeline, JsonGenerator generator) throws IOException {
+        generator.writeStartArray(null, timeline.size());
+        for (TimelineEvent event : timeline) {
+            generator.writeStartObject();
+            generator.writeNumberField("time", event.getTime());
+            generator.writeNumberField("pid", event.getPid());
+            generator.writeStringField("type", event.getType().name());
+            writeNullableNumber("burstRemaining", event.getBurstRemaining(), generator);
+            writeNullableNumber("priority", event.getPriority(), generator);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeEvent(JsonGenerator generator, int time, int pid, EventType type, boolean hasDetails,
+            int burstRemaining, int priority) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("time", time);
+        generator.writeNumberField("pid", pid);
+        generator.writeStringField("type", type.name());
+        if (hasDetails) {
+            generator.writeNumberField("burstRemaining", burstRemaining);
+            generator.writeNumberField("priority", priority);
+        } else {
+            generator.writeNullField("burstRemaining");
+            generator.writeNullField("priority");
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNullableNumber(String name, Integer value, JsonGenerator generator) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        } else {
+            generator.writeNullField(name);
+        }
+    }
+
+    private static void writeSegments(GanttChart gantt, JsonGenerator generator) throws IOException {
+        int size = gantt.size();
+        generator.writeStartArray(null, size);
+        for (int i = 0; i < size; i++) {
+            writeSegment(generator, gantt.pid(i), gantt.start(i), gantt.end(i));
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeSegments(List<GanttSegment> segments, JsonGenerator generator) throws IOException {
+        generator.writeStartArray(null, segments.size());
+        for (GanttSegment segment : segments) {
+            writeSegment(generator, segment.getPid(), segment.getStart(), segment.getEnd());
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeSegment(JsonGenerator generator, int pid, int start, int end) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("pid", pid);
+        generator.writeNumberField("start", start);
+        generator.writeNumberField("end", end);
+        generator.writeEndObject();
+    }
+
+    // pid -> value object in slot order, the same order the ProcessMetrics map views iterate in
+    private static void writeMetric(String name, ProcessMetrics metrics, IntUnaryOperator valueAt,
+            JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart(name);
+        for (int slot = 0; slot < metrics.size(); slot++) {
+            generator.writeFieldId(metrics.pid(slot));
+            generator.writeNumber(valueAt.applyAsInt(slot));
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeMap(String name, Map<Integer, Integer> values, JsonGenerator generator)
+            throws IOException {
+        generator.writeObjectFieldStart(name);
+        for (Map.Entry<Integer, Integer> entry : values.entrySet()) {
+            generator.writeFieldId(entry.getKey());
+            generator.writeNumber(entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+}
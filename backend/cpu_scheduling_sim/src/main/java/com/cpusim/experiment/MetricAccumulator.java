@@ -0,0 +1,125 @@
+/*
+    Running statistics of one metric that can be merged with another accumulator.
+    Mean and variance use Welford's update and Chan's merge, so they stay accurate over millions of samples.
+    Percentiles come from a histogram of logarithmic buckets that are 2% wide, which keeps them within
+    about 1% of the exact value with a few hundred counters instead of every sample.
+ */
+
+package com.cpusim.experiment;
+
+import java.util.Arrays;
+
+import com.cpusim.model.MetricSummary;
+
+public final class MetricAccumulator {
+    // Values below this share bucket 0
+    private static final double MIN_BUCKET_VALUE = 0.01;
+    private static final double BUCKET_RATIO = 1.02;
+    private static final double LOG_BUCKET_RATIO = Math.log(BUCKET_RATIO);
+
+    // z for a two-sided 95% confidence interval
+    private static final double Z_95 = 1.959963984540054;
+
+    private long count;
+    private double mean;
+    private double m2; // Sum of squared differences from the mean
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long[] buckets = new long[64];
+
+    // Values must not be negative, which holds for every scheduling metric
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+
+        int bucket = bucketOf(value);
+        if (bucket >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(bucket + 1, buckets.length * 2));
+        }
+        buckets[bucket]++;
+    }
+
+    // Adds everything the other accumulator has seen to this one
+    public void merge(MetricAccumulator other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        if (other.buckets.length > buckets.length) {
+            buckets = Arrays.copyOf(buckets, other.buckets.length);
+        }
+        for (int i = 0; i < other.buckets.length; i++) {
+            buckets[i] += other.buckets[i];
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    // Sample variance
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0;
+    }
+
+    /**
+     * Approximate value below which the given fraction of samples falls.
+     *
+     * @param fraction Between 0 and 1, e.g. 0.99 for the 99th percentile
+     */
+    public double percentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile fraction must be between 0 and 1, got " + fraction);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(max, Math.max(min, bucketValue(i)));
+            }
+        }
+        return max;
+    }
+
+    public MetricSummary summary() {
+        double standardDeviation = Math.sqrt(getVariance());
+        double margin = count > 1 ? Z_95 * standardDeviation / Math.sqrt(count) : 0;
+        return new MetricSummary(count, getMean(), getVariance(), standardDeviation, getMean() - margin,
+                getMean() + margin, count > 0 ? min : Double.NaN, count > 0 ? max : Double.NaN, percentile(0.5),
+                percentile(0.9), percentile(0.99));
+    }
+
+    private static int bucketOf(double value) {
+        if (value < MIN_BUCKET_VALUE) {
+            return 0;
+        }
+        return 1 + (int) (Math.log(value / MIN_BUCKET_VALUE) / LOG_BUCKET_RATIO);
+    }
+
+    // Geometric middle of the bucket
+    private static double bucketValue(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        return MIN_BUCKET_VALUE * Math.pow(BUCKET_RATIO, bucket - 0.5);
+    }
+}
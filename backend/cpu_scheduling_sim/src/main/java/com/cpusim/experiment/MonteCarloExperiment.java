@@ -0,0 +1,116 @@
+/*
+    Monte Carlo batch experiment: simulates every algorithm on a large number of random workloads and
+    aggregates the metrics per algorithm.
+    Replications are split into fixed-size chunks that run in parallel. Each chunk draws its workloads from
+    its own SplittableRandom, split off the seed in chunk order, and collects its results in mergeable
+    accumulators. The chunks are merged in order afterwards, so the same seed gives the same numbers no
+    matter how many cores run the experiment.
+ */
+
+package com.cpusim.experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import com.cpusim.model.AlgorithmStatistics;
+import com.cpusim.model.ExperimentResult;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+
+public final class MonteCarloExperiment {
+    // An experiment runs on the common pool and can't be cancelled, so it is kept to a few seconds
+    public static final int MAX_REPLICATIONS = 1_000_000;
+
+    private static final String[] ALGORITHMS = { "fcfs", "sjf", "srtf", "pp", "rr" };
+
+    // Few enough chunks to keep the per-chunk accumulators small, enough to keep every core busy
+    private static final int MAX_CHUNKS = 256;
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private final WorkloadGenerator generator;
+    private final int quantum;
+
+    public MonteCarloExperiment(WorkloadGenerator generator, int quantum) {
+        if (quantum < 1) {
+            throw new IllegalArgumentException("Quantum must be at least 1, got " + quantum);
+        }
+        this.generator = generator;
+        this.quantum = quantum;
+    }
+
+    public ExperimentResult run(int replications, long seed) {
+        if (replications < 1 || replications > MAX_REPLICATIONS) {
+            throw new IllegalArgumentException("Replications must be between 1 and " + MAX_REPLICATIONS + ", got "
+                    + replications);
+        }
+        long start = System.nanoTime();
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (int) Math.ceil((double) replications / MAX_CHUNKS));
+        int chunks = (replications + chunkSize - 1) / chunkSize;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkRandoms[chunk] = root.split();
+        }
+
+        Accumulators[] results = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> runChunk(chunkRandoms[chunk],
+                        Math.min(chunkSize, replications - chunk * chunkSize)))
+                .toArray(Accumulators[]::new);
+
+        Accumulators total = new Accumulators();
+        for (Accumulators result : results) {
+            total.merge(result);
+        }
+
+        List<AlgorithmStatistics> statistics = new ArrayList<>(ALGORITHMS.length);
+        for (int i = 0; i < ALGORITHMS.length; i++) {
+            statistics.add(new AlgorithmStatistics(ALGORITHMS[i], total.waitingTimes[i].summary(),
+                    total.turnaroundTimes[i].summary(), total.contextSwitches[i].summary()));
+        }
+        return new ExperimentResult(seed, replications, quantum, (System.nanoTime() - start) / 1e6, statistics);
+    }
+
+    // Every algorithm runs on the same workloads, so differences between them are not down to sampling
+    private Accumulators runChunk(SplittableRandom random, int replications) {
+        Scheduler[] schedulers = { new FCFSScheduler(), new SJFScheduler(), new SRTFScheduler(), new PPScheduler(),
+                new RRScheduler(quantum) };
+        Accumulators accumulators = new Accumulators();
+        for (int r = 0; r < replications; r++) {
+            Workload workload = generator.generate(random);
+            for (int i = 0; i < schedulers.length; i++) {
+                SimulationResult result = schedulers[i].schedule(workload, SimulationOptions.METRICS_ONLY);
+                accumulators.waitingTimes[i].add(result.getAverageWaitingTime());
+                accumulators.turnaroundTimes[i].add(result.getAverageTurnaroundTime());
+                accumulators.contextSwitches[i].add(result.getTotalContextSwitches());
+            }
+        }
+        return accumulators;
+    }
+
+    // One accumulator per algorithm and metric
+    private static class Accumulators {
+        final MetricAccumulator[] waitingTimes = create();
+        final MetricAccumulator[] turnaroundTimes = create();
+        final MetricAccumulator[] contextSwitches = create();
+
+        private static MetricAccumulator[] create() {
+            MetricAccumulator[] accumulators = new MetricAccumulator[ALGORITHMS.length];
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i] = new MetricAccumulator();
+            }
+            return accumulators;
+        }
+
+        void merge(Accumulators other) {
+            for (int i = 0; i < ALGORITHMS.length; i++) {
+                waitingTimes[i].merge(other.waitingTimes[i]);
+                turnaroundTimes[i].merge(other.turnaroundTimes[i]);
+                contextSwitches[i].merge(other.contextSwitches[i]);
+            }
+        }
+    }
+}
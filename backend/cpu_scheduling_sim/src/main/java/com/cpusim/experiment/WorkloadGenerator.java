@@ -0,0 +1,68 @@
+// Builds random workloads for batch experiments
+
+package com.cpusim.experiment;
+
+import java.util.SplittableRandom;
+
+import com.cpusim.model.Workload;
+
+public final class WorkloadGenerator {
+
+    // Same ranges as the generated quizzes: 4-10 processes, burst 1-15, priority 1-10, arrival 0-9
+    public static final WorkloadGenerator QUIZ = new WorkloadGenerator(4, 10, 15, 10, 9);
+
+    private final int minProcesses;
+    private final int maxProcesses;
+    private final int maxBurstTime;
+    private final int maxPriority;
+    private final int maxArrivalTime;
+
+    public WorkloadGenerator(int minProcesses, int maxProcesses, int maxBurstTime, int maxPriority,
+            int maxArrivalTime) {
+        if (minProcesses < 1 || maxProcesses < minProcesses) {
+            throw new IllegalArgumentException("Invalid process count range [" + minProcesses + ", " + maxProcesses
+                    + "]");
+        }
+        if (maxBurstTime < 1 || maxPriority < 1 || maxArrivalTime < 0) {
+            throw new IllegalArgumentException("Burst time and priority must be at least 1, arrival time at least 0");
+        }
+        this.minProcesses = minProcesses;
+        this.maxProcesses = maxProcesses;
+        this.maxBurstTime = maxBurstTime;
+        this.maxPriority = maxPriority;
+        this.maxArrivalTime = maxArrivalTime;
+    }
+
+    // The same random state always gives the same workload
+    public Workload generate(SplittableRandom random) {
+        int size = random.nextInt(minProcesses, maxProcesses + 1);
+        Workload.Builder builder = new Workload.Builder(size);
+        for (int pid = 1; pid <= size; pid++) {
+            int burstTime = random.nextInt(1, maxBurstTime + 1);
+            int priority = random.nextInt(1, maxPriority + 1);
+            int arrivalTime = random.nextInt(0, maxArrivalTime + 1);
+            builder.add(pid, burstTime, priority, arrivalTime);
+        }
+        return builder.build();
+    }
+
+    public int getMinProcesses() {
+        return minProcesses;
+    }
+
+    public int getMaxProcesses() {
+        return maxProcesses;
+    }
+
+    public int getMaxBurstTime() {
+        return maxBurstTime;
+    }
+
+    public int getMaxPriority() {
+        return maxPriority;
+    }
+
+    public int getMaxArrivalTime() {
+        return maxArrivalTime;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+    Layout of binary timeline trace files, shared by TraceWriter and TraceReader. All values are little-endian.
+
+    Header, 128 bytes:
+        0   int   magic "CPUT"
+        4   int   version 1
+        8   long  event count, -1 while the trace is still being written
+        16  long  byte offset of the time index
+        24  int   index interval: one index entry every this many events
+        28  int   process count of the workload
+        32  long  total burst time of the workload
+        40  int   length of the algorithm name in bytes
+        44  ...   algorithm name, UTF-8, at most 84 bytes
+
+    Events follow the header, one 20 byte record each in time order:
+        int time, int pid, byte event type ordinal, byte flags (1 = burst remaining and priority are set),
+        2 bytes padding, int burst remaining, int priority
+
+    The time index comes after the last event: one int per index interval holding the time of event
+    k * interval, so finding the first event at a given time is a binary search plus a short scan.
+ */
+
+package com.cpusim.io;
+
+final class TraceFormat {
+    static final int MAGIC = 0x54555043; // "CPUT" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 128;
+    static final int RECORD_BYTES = 20;
+    static final int MAX_ALGORITHM_BYTES = HEADER_BYTES - 44;
+    static final int DEFAULT_INDEX_INTERVAL = 1024;
+
+    static final int EVENT_COUNT_OFFSET = 8;
+    static final int INDEX_OFFSET_OFFSET = 16;
+    static final int INDEX_INTERVAL_OFFSET = 24;
+    static final int PROCESS_COUNT_OFFSET = 28;
+    static final int TOTAL_BURST_OFFSET = 32;
+    static final int ALGORITHM_LENGTH_OFFSET = 40;
+    static final int ALGORITHM_OFFSET = 44;
+
+    static final byte HAS_DETAILS = 1;
+
+    private TraceFormat() {
+    }
+}
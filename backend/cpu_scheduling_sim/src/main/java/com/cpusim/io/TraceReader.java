@@ -0,0 +1,200 @@
+/*
+    Random access to a finished binary timeline trace (layout in TraceFormat) without running the simulation again.
+    The events are memory-mapped in regions of up to about 1.3 GB and decoded only when read, so opening a trace
+    costs the same for a thousand events as for a billion. Time lookups binary search the sparse time index and
+    then scan at most one index interval of records.
+ */
+
+package com.cpusim.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.scheduling.TimelineSink;
+
+import static com.cpusim.io.TraceFormat.*;
+
+public final class TraceReader {
+    private static final EventType[] TYPES = EventType.values();
+    private static final int REGION_SHIFT = 26; // 2^26 records of 20 bytes per mapping
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+    private static final int REPLAY_CHUNK_SIZE = 1024;
+
+    private final String algorithm;
+    private final int processCount;
+    private final long totalBurstTime;
+    private final long eventCount;
+    private final int indexInterval;
+    private final ByteBuffer[] regions;
+    private final IntBuffer index;
+
+    private TraceReader(ByteBuffer header, ByteBuffer[] regions, IntBuffer index) {
+        byte[] name = new byte[header.getInt(ALGORITHM_LENGTH_OFFSET)];
+        header.get(ALGORITHM_OFFSET, name);
+        this.algorithm = new String(name, StandardCharsets.UTF_8);
+        this.processCount = header.getInt(PROCESS_COUNT_OFFSET);
+        this.totalBurstTime = header.getLong(TOTAL_BURST_OFFSET);
+        this.eventCount = header.getLong(EVENT_COUNT_OFFSET);
+        this.indexInterval = header.getInt(INDEX_INTERVAL_OFFSET);
+        this.regions = regions;
+        this.index = index;
+    }
+
+    /**
+     * Maps a trace written and finished by TraceWriter. The mappings stay valid after the channel is closed,
+     * so the reader holds no open file handle.
+     */
+    public static TraceReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IllegalArgumentException("Trace file is too short for its header");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Not a timeline trace file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Unsupported timeline trace version " + header.getInt(4));
+            }
+            long count = header.getLong(EVENT_COUNT_OFFSET);
+            if (count < 0) {
+                throw new IllegalArgumentException("Timeline trace is incomplete, it was never finished");
+            }
+            int interval = header.getInt(INDEX_INTERVAL_OFFSET);
+            int nameLength = header.getInt(ALGORITHM_LENGTH_OFFSET);
+            long entries = interval > 0 ? (count + interval - 1) / interval : -1;
+            long indexOffset = HEADER_BYTES + count * RECORD_BYTES;
+            if (interval < 1 || nameLength < 0 || nameLength > MAX_ALGORITHM_BYTES
+                    || header.getLong(INDEX_OFFSET_OFFSET) != indexOffset
+                    || fileSize != indexOffset + entries * Integer.BYTES) {
+                throw new IllegalArgumentException("Timeline trace header doesn't match the file size of "
+                        + fileSize + " bytes");
+            }
+
+            ByteBuffer[] regions = new ByteBuffer[(int) ((count + REGION_MASK) >>> REGION_SHIFT)];
+            for (int i = 0; i < regions.length; i++) {
+                long first = (long) i << REGION_SHIFT;
+                long records = Math.min(count - first, 1L << REGION_SHIFT);
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * RECORD_BYTES,
+                        records * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            IntBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, entries * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+            return new TraceReader(header, regions, index);
+        }
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public long getTotalBurstTime() {
+        return totalBurstTime;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public int time(long eventIndex) {
+        checkIndex(eventIndex);
+        return regions[(int) (eventIndex >>> REGION_SHIFT)].getInt(offset(eventIndex));
+    }
+
+    public TimelineEvent event(long eventIndex) {
+        checkIndex(eventIndex);
+        ByteBuffer region = regions[(int) (eventIndex >>> REGION_SHIFT)];
+        int offset = offset(eventIndex);
+        int time = region.getInt(offset);
+        int pid = region.getInt(offset + 4);
+        EventType type = TYPES[region.get(offset + 8)];
+        if ((region.get(offset + 9) & HAS_DETAILS) == 0) {
+            return new TimelineEvent(time, pid, type);
+        }
+        return new TimelineEvent(time, pid, type, region.getInt(offset + 12), region.getInt(offset + 16));
+    }
+
+    // Index of the first event at or after the given time, getEventCount() if there is none
+    public long firstEventAt(int time) {
+        // Last index entry before the time, the first matching event is in the interval after it
+        int low = 0;
+        int high = index.limit() - 1;
+        int entry = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (index.get(mid) < time) {
+                entry = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (entry < 0) {
+            return 0;
+        }
+        long eventIndex = (long) entry * indexInterval;
+        while (eventIndex < eventCount && time(eventIndex) < time) {
+            eventIndex++;
+        }
+        return eventIndex;
+    }
+
+    // Events with from <= time < to, in trace order
+    public List<TimelineEvent> eventsBetween(int from, int to) {
+        long first = firstEventAt(from);
+        long end = to > from ? firstEventAt(to) : first;
+        if (end - first > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Time range holds " + (end - first) + " events, too many for a list");
+        }
+        List<TimelineEvent> events = new ArrayList<>((int) (end - first));
+        for (long i = first; i < end; i++) {
+            events.add(event(i));
+        }
+        return events;
+    }
+
+    /**
+     * Pushes the events in [fromIndex, toIndex) to the sink in chunks, flushing after each chunk like a streamed
+     * simulation does, e.g. to send an archived run to a client as NDJSON.
+     */
+    public void replay(long fromIndex, long toIndex, TimelineSink sink) {
+        if (fromIndex < 0 || toIndex > eventCount || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") is outside the "
+                    + eventCount + " events of the trace");
+        }
+        for (long i = fromIndex; i < toIndex; i++) {
+            sink.accept(event(i));
+            if ((i - fromIndex + 1) % REPLAY_CHUNK_SIZE == 0) {
+                sink.flush();
+            }
+        }
+        sink.flush();
+    }
+
+    private void checkIndex(long eventIndex) {
+        if (eventIndex < 0 || eventIndex >= eventCount) {
+            throw new IndexOutOfBoundsException("Index: " + eventIndex + ", Events: " + eventCount);
+        }
+    }
+
+    private static int offset(long eventIndex) {
+        return (int) (eventIndex & REGION_MASK) * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+    Streams timeline events into a binary trace file (layout in TraceFormat) while the scheduler runs.
+    Plug it in with SimulationOptions.streaming(writer): events are packed into a direct buffer that is written to
+    the file channel whenever it fills, so memory use does not grow with the length of the simulation. Only the
+    sparse time index, one int per index interval, is kept until finish() appends it and completes the header.
+ */
+
+package com.cpusim.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.TimelineSink;
+
+import static com.cpusim.io.TraceFormat.*;
+
+public final class TraceWriter implements TimelineSink, AutoCloseable {
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int indexInterval;
+    private final byte[] header;
+    private int[] index = new int[64];
+    private long eventCount;
+    private int lastTime = Integer.MIN_VALUE;
+    private boolean finished;
+
+    private TraceWriter(FileChannel channel, byte[] header, int indexInterval) {
+        this.channel = channel;
+        this.header = header;
+        this.indexInterval = indexInterval;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public static TraceWriter create(Path file, Workload workload, String algorithm) throws IOException {
+        return create(file, workload, algorithm, DEFAULT_INDEX_INTERVAL);
+    }
+
+    /**
+     * Creates or truncates the trace file and writes a header marked as incomplete until finish() is called.
+     *
+     * @param file          Trace file to write
+     * @param workload      Workload being simulated, its size and total burst time go into the header
+     * @param algorithm     Name of the scheduler, at most 84 bytes of UTF-8
+     * @param indexInterval Events per time index entry, smaller means a bigger index and shorter scans
+     */
+    public static TraceWriter create(Path file, Workload workload, String algorithm, int indexInterval)
+            throws IOException {
+        if (indexInterval < 1) {
+            throw new IllegalArgumentException("Index interval must be at least 1, got " + indexInterval);
+        }
+        byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_ALGORITHM_BYTES) {
+            throw new IllegalArgumentException("Algorithm name is longer than " + MAX_ALGORITHM_BYTES + " bytes");
+        }
+        long totalBurstTime = 0;
+        for (int slot = 0; slot < workload.size(); slot++) {
+            totalBurstTime += workload.burstTime(slot);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putLong(EVENT_COUNT_OFFSET, -1)
+                .putInt(INDEX_INTERVAL_OFFSET, indexInterval)
+                .putInt(PROCESS_COUNT_OFFSET, workload.size())
+                .putLong(TOTAL_BURST_OFFSET, totalBurstTime)
+                .putInt(ALGORITHM_LENGTH_OFFSET, name.length)
+                .put(ALGORITHM_OFFSET, name);
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeFully(channel, ByteBuffer.wrap(header.array()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new TraceWriter(channel, header.array(), indexInterval);
+    }
+
+    @Override
+    public void accept(TimelineEvent event) {
+        if (finished) {
+            throw new IllegalStateException("Trace has already been finished");
+        }
+        int time = event.getTime();
+        if (time < lastTime) {
+            throw new IllegalArgumentException("Trace events must be in time order, got time " + time
+                    + " after " + lastTime);
+        }
+        lastTime = time;
+
+        if (eventCount % indexInterval == 0) {
+            int entry = (int) (eventCount / indexInterval);
+            if (entry == index.length) {
+                index = Arrays.copyOf(index, index.length * 2);
+            }
+            index[entry] = time;
+        }
+
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        boolean hasDetails = event.getBurstRemaining() != null;
+        buffer.putInt(time)
+                .putInt(event.getPid())
+                .put((byte) event.getType().ordinal())
+                .put(hasDetails ? HAS_DETAILS : 0)
+                .putShort((short) 0)
+                .putInt(hasDetails ? event.getBurstRemaining() : 0)
+                .putInt(hasDetails && event.getPriority() != null ? event.getPriority() : 0);
+        eventCount++;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Writes the remaining events and the time index, then fills in the event count so readers accept the
+     * file. A trace that is closed without finish() stays marked as incomplete.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        drainOrThrow();
+        long indexOffset = HEADER_BYTES + eventCount * RECORD_BYTES;
+        int entries = (int) ((eventCount + indexInterval - 1) / indexInterval);
+        ByteBuffer indexBytes = ByteBuffer.allocate(entries * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        indexBytes.asIntBuffer().put(index, 0, entries);
+        writeFully(channel, indexBytes);
+
+        ByteBuffer completed = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(EVENT_COUNT_OFFSET, eventCount)
+                .putLong(INDEX_OFFSET_OFFSET, indexOffset);
+        while (completed.hasRemaining()) {
+            channel.write(completed, completed.position());
+        }
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void drain() {
+        try {
+            drainOrThrow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drainOrThrow() throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
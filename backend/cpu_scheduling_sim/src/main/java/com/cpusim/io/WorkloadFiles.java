@@ -0,0 +1,320 @@
+/*
+    Bulk workload import from CSV and binary files.
+    Files are memory-mapped with NIO and parsed byte by byte straight into a presized Workload.Builder, so no
+    String or Process object is created per row. Files bigger than one mapping are mapped in regions of up to
+    1 GB that end on a line or record boundary.
+
+    CSV: one process per line, comma separated, either "burst,priority,arrival" (pids are numbered from 1 in
+    file order, like POST /processes) or "pid,burst,priority,arrival". A header line, blank lines and lines
+    starting with '#' are skipped.
+
+    Binary, little-endian: a 16 byte header (magic "CPUW", int version 1, long process count) followed by
+    one 16 byte record per process (int pid, burst, priority, arrival).
+ */
+
+package com.cpusim.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.cpusim.model.Workload;
+
+public final class WorkloadFiles {
+    public static final int BINARY_MAGIC = 0x57555043; // "CPUW" read as a little-endian int
+    public static final int BINARY_VERSION = 1;
+    public static final int BINARY_HEADER_BYTES = 16;
+    public static final int BINARY_RECORD_BYTES = 16;
+
+    private static final long MAX_REGION_BYTES = 1L << 30;
+    // Bytes sampled at the start of a CSV file to estimate its row count
+    private static final int CSV_SAMPLE_BYTES = 64 * 1024;
+
+    private WorkloadFiles() {
+    }
+
+    // Reads a CSV or binary workload file, told apart by the binary magic number
+    public static Workload read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return isBinary(channel) ? readBinary(channel) : readCsv(channel, MAX_REGION_BYTES);
+        }
+    }
+
+    public static Workload readCsv(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readCsv(channel, MAX_REGION_BYTES);
+        }
+    }
+
+    public static Workload readBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readBinary(channel);
+        }
+    }
+
+    // Writes the workload in the binary format, in slot (arrival) order
+    public static void writeBinary(Workload workload, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(BINARY_MAGIC).putInt(BINARY_VERSION).putLong(workload.size());
+            for (int slot = 0; slot < workload.size(); slot++) {
+                if (buffer.remaining() < BINARY_RECORD_BYTES) {
+                    writeFully(channel, buffer);
+                }
+                buffer.putInt(workload.pid(slot))
+                        .putInt(workload.burstTime(slot))
+                        .putInt(workload.priority(slot))
+                        .putInt(workload.arrivalTime(slot));
+            }
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static boolean isBinary(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        while (magic.hasRemaining() && channel.read(magic, magic.position()) > 0) {
+            // Read until the 4 bytes are in or the file ends
+        }
+        return !magic.hasRemaining() && magic.getInt(0) == BINARY_MAGIC;
+    }
+
+    private static Workload readBinary(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < BINARY_HEADER_BYTES) {
+            throw new IllegalArgumentException("Binary workload file is too short for its header");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BINARY_HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != BINARY_MAGIC) {
+            throw new IllegalArgumentException("Not a binary workload file");
+        }
+        if (header.getInt(4) != BINARY_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary workload version " + header.getInt(4));
+        }
+        long count = header.getLong(8);
+        if (count < 0 || count > Integer.MAX_VALUE - 8
+                || fileSize != BINARY_HEADER_BYTES + count * BINARY_RECORD_BYTES) {
+            throw new IllegalArgumentException("Binary workload header says " + count + " processes but the file has "
+                    + (fileSize - BINARY_HEADER_BYTES) + " bytes of records");
+        }
+
+        int size = (int) count;
+        Workload.Builder builder = new Workload.Builder(size);
+        int recordsPerRegion = (int) (MAX_REGION_BYTES / BINARY_RECORD_BYTES);
+        long position = BINARY_HEADER_BYTES;
+        int row = 0;
+        while (row < size) {
+            int records = Math.min(size - row, recordsPerRegion);
+            IntBuffer ints = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) records * BINARY_RECORD_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+            for (int i = 0; i < records; i++, row++) {
+                int pid = ints.get();
+                int burstTime = ints.get();
+                int priority = ints.get();
+                int arrivalTime = ints.get();
+                addRow(builder, row + 1, pid, burstTime, priority, arrivalTime);
+            }
+            position += (long) records * BINARY_RECORD_BYTES;
+        }
+        return builder.build();
+    }
+
+    // Package-private with the region size so tests can exercise region boundaries on small files
+    static Workload readCsv(FileChannel channel, long maxRegionBytes) throws IOException {
+        long fileSize = channel.size();
+        CsvParser parser = new CsvParser(new Workload.Builder(estimateCsvRows(channel, fileSize)));
+        long position = 0;
+        while (position < fileSize) {
+            long length = Math.min(fileSize - position, maxRegionBytes);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            boolean last = position + length == fileSize;
+            int end = last ? (int) length : lastNewline(region, (int) length) + 1;
+            if (end == 0) {
+                throw new IllegalArgumentException("CSV line " + (parser.line + 1) + " is longer than "
+                        + maxRegionBytes + " bytes");
+            }
+            parser.parse(region, end);
+            position += end;
+        }
+        parser.endOfInput();
+        return parser.builder.build();
+    }
+
+    private static int lastNewline(ByteBuffer region, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (region.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Row count from the line length at the start of the file, so the builder rarely has to grow
+    private static int estimateCsvRows(FileChannel channel, long fileSize) throws IOException {
+        int sampleSize = (int) Math.min(fileSize, CSV_SAMPLE_BYTES);
+        if (sampleSize == 0) {
+            return 16;
+        }
+        ByteBuffer sample = channel.map(FileChannel.MapMode.READ_ONLY, 0, sampleSize);
+        int lines = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            if (sample.get(i) == '\n') {
+                lines++;
+            }
+        }
+        long estimate = Math.max(lines, 1) * (fileSize / sampleSize + 1) + 16;
+        return (int) Math.min(estimate, Integer.MAX_VALUE - 8);
+    }
+
+    private static void addRow(Workload.Builder builder, long row, int pid, int burstTime, int priority,
+            int arrivalTime) {
+        if (burstTime < 1) {
+            throw new IllegalArgumentException(
+                    "Process " + row + " has burst time " + burstTime + ", must be at least 1");
+        }
+        if (arrivalTime < 0) {
+            throw new IllegalArgumentException("Process " + row + " has negative arrival time " + arrivalTime);
+        }
+        builder.add(pid, burstTime, priority, arrivalTime);
+    }
+
+    // Parses whole lines; the state that carries over between regions is only the line count and column count
+    private static final class CsvParser {
+        final Workload.Builder builder;
+        long line; // Lines parsed so far, for error messages
+        int columns; // 3 or 4 once the first data line has been seen
+        int rows;
+
+        private final byte[] chunk = new byte[64 * 1024];
+        private boolean skippingLine;
+
+        // Fields of the current line
+        private final long[] fields = new long[4];
+        private int fieldCount;
+        private long value;
+        private boolean inNumber;
+        private boolean negative;
+        private boolean lineHasContent;
+
+        CsvParser(Workload.Builder builder) {
+            this.builder = builder;
+        }
+
+        void parse(ByteBuffer region, int end) {
+            // Bulk copies out of the mapping are much faster than reading it one byte at a time
+            for (int offset = 0; offset < end; offset += chunk.length) {
+                int length = Math.min(chunk.length, end - offset);
+                region.get(offset, chunk, 0, length);
+                parseChunk(length);
+            }
+        }
+
+        private void parseChunk(int length) {
+            byte[] bytes = chunk;
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[i];
+                if (skippingLine) {
+                    if (b == '\n') {
+                        skippingLine = false;
+                        endLine();
+                    }
+                } else if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    if (value > Integer.MAX_VALUE) {
+                        throw error("number out of range");
+                    }
+                    inNumber = true;
+                    lineHasContent = true;
+                } else if (b == ',') {
+                    endField();
+                } else if (b == '\n') {
+                    endLine();
+                } else if (b == ' ' || b == '\t' || b == '\r') {
+                    // Whitespace around fields is ignored
+                } else if (b == '-' && !inNumber && !negative) {
+                    negative = true;
+                    lineHasContent = true;
+                } else if ((b == '#' && !lineHasContent) || (rows == 0 && fieldCount == 0 && !inNumber)) {
+                    // Comment, or a header before the first data line: skip the rest of the line
+                    resetLine();
+                    skippingLine = true;
+                } else {
+                    throw error("unexpected character '" + (char) b + "'");
+                }
+            }
+        }
+
+        void endOfInput() {
+            if (lineHasContent || fieldCount > 0) {
+                endLine();
+            }
+        }
+
+        private void endField() {
+            if (!inNumber) {
+                throw error("empty field");
+            }
+            if (fieldCount == fields.length) {
+                throw error("more than 4 fields");
+            }
+            fields[fieldCount++] = negative ? -value : value;
+            value = 0;
+            inNumber = false;
+            negative = false;
+            lineHasContent = true;
+        }
+
+        private void endLine() {
+            if (!lineHasContent && fieldCount == 0) {
+                line++;
+                resetLine();
+                return;
+            }
+            endField();
+            if (columns == 0) {
+                if (fieldCount != 3 && fieldCount != 4) {
+                    throw error("expected 3 or 4 fields, got " + fieldCount);
+                }
+                columns = fieldCount;
+            } else if (fieldCount != columns) {
+                throw error("expected " + columns + " fields like the first line, got " + fieldCount);
+            }
+            rows++;
+            if (columns == 3) {
+                addRow(builder, rows, rows, (int) fields[0], (int) fields[1], (int) fields[2]);
+            } else {
+                addRow(builder, rows, (int) fields[0], (int) fields[1], (int) fields[2], (int) fields[3]);
+            }
+            // Counted only now, so errors about this line still name it
+            line++;
+            resetLine();
+        }
+
+        private void resetLine() {
+            fieldCount = 0;
+            value = 0;
+            inNumber = false;
+            negative = false;
+            lineHasContent = false;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("CSV line " + (line + 1) + ": " + message);
+        }
+    }
+}
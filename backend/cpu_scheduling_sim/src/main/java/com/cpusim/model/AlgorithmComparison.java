@@ -0,0 +1,39 @@
+// One algorithm's entry in a ComparisonResult
+
+package com.cpusim.model;
+
+public class AlgorithmComparison {
+    private String algorithm;
+    private String name;
+    private double wallTimeMillis; // Time the scheduler took to run, measured on its own thread
+    private SimulationResult result;
+
+    public AlgorithmComparison(String algorithm, String name, double wallTimeMillis, SimulationResult result) {
+        this.algorithm = algorithm;
+        this.name = name;
+        this.wallTimeMillis = wallTimeMillis;
+        this.result = result;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AlgorithmComparison{algorithm='" + algorithm + "', wallTimeMillis=" + wallTimeMillis + ", result="
+                + result + '}';
+    }
+}
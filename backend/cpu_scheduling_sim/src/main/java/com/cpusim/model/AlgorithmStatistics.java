@@ -0,0 +1,39 @@
+// Statistics of one algorithm over every replication of a batch experiment
+
+package com.cpusim.model;
+
+public class AlgorithmStatistics {
+    private String algorithm;
+    private MetricSummary averageWaitingTime;
+    private MetricSummary averageTurnaroundTime;
+    private MetricSummary contextSwitches;
+
+    public AlgorithmStatistics(String algorithm, MetricSummary averageWaitingTime,
+            MetricSummary averageTurnaroundTime, MetricSummary contextSwitches) {
+        this.algorithm = algorithm;
+        this.averageWaitingTime = averageWaitingTime;
+        this.averageTurnaroundTime = averageTurnaroundTime;
+        this.contextSwitches = contextSwitches;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public MetricSummary getAverageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    public MetricSummary getAverageTurnaroundTime() {
+        return averageTurnaroundTime;
+    }
+
+    public MetricSummary getContextSwitches() {
+        return contextSwitches;
+    }
+
+    @Override
+    public String toString() {
+        return "AlgorithmStatistics{algorithm='" + algorithm + "', averageWaitingTime=" + averageWaitingTime + '}';
+    }
+}
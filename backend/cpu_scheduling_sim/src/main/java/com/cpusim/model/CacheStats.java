@@ -0,0 +1,63 @@
+// Hit/miss counters and size of the simulation result cache
+
+package com.cpusim.model;
+
+public class CacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int entries;
+    private long bytes; // Estimated size of the cached results
+    private long maxBytes;
+
+    public CacheStats(long hits, long misses, long evictions, int entries, long bytes, long maxBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.bytes = bytes;
+        this.maxBytes = maxBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Fraction of lookups that found a cached result, 0 before the first lookup
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups > 0 ? (double) hits / lookups : 0;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", entries=" + entries +
+                ", bytes=" + bytes +
+                ", maxBytes=" + maxBytes +
+                '}';
+    }
+}
@@ -0,0 +1,35 @@
+// Results of running every scheduling algorithm on the same workload
+
+package com.cpusim.model;
+
+import java.util.List;
+
+public class ComparisonResult {
+    private int processCount;
+    private double wallTimeMillis; // Whole comparison, roughly the slowest algorithm since they run in parallel
+    private List<AlgorithmComparison> algorithms;
+
+    public ComparisonResult(int processCount, double wallTimeMillis, List<AlgorithmComparison> algorithms) {
+        this.processCount = processCount;
+        this.wallTimeMillis = wallTimeMillis;
+        this.algorithms = algorithms;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public double getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    public List<AlgorithmComparison> getAlgorithms() {
+        return algorithms;
+    }
+
+    @Override
+    public String toString() {
+        return "ComparisonResult{processCount=" + processCount + ", wallTimeMillis=" + wallTimeMillis
+                + ", algorithms=" + algorithms + '}';
+    }
+}
@@ -0,0 +1,54 @@
+// What one core of a multi-core simulation did
+
+package com.cpusim.model;
+
+import java.util.List;
+
+public class CoreStats {
+    private int core;
+    private long busyTime;
+    private double utilization; // Busy time / makespan
+    private int contextSwitches;
+    private int completedProcesses;
+    private List<GanttSegment> segments; // This core's timeline, empty unless recorded
+
+    public CoreStats(int core, long busyTime, double utilization, int contextSwitches, int completedProcesses,
+            List<GanttSegment> segments) {
+        this.core = core;
+        this.busyTime = busyTime;
+        this.utilization = utilization;
+        this.contextSwitches = contextSwitches;
+        this.completedProcesses = completedProcesses;
+        this.segments = segments;
+    }
+
+    public int getCore() {
+        return core;
+    }
+
+    public long getBusyTime() {
+        return busyTime;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public int getCompletedProcesses() {
+        return completedProcesses;
+    }
+
+    public List<GanttSegment> getSegments() {
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return "CoreStats{core=" + core + ", utilization=" + utilization + ", contextSwitches=" + contextSwitches
+                + ", completedProcesses=" + completedProcesses + ", segments=" + segments.size() + '}';
+    }
+}
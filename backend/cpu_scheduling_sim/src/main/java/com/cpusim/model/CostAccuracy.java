@@ -0,0 +1,75 @@
+// Predicted against measured simulation cost for one algorithm, for tuning the cost model
+
+package com.cpusim.model;
+
+public class CostAccuracy {
+    private String algorithm;
+    private long runs;
+    private double meanPredictedMillis;
+    private double meanActualMillis;
+    private double ratio; // Total actual over total predicted time, above 1 means the model is optimistic
+    private double minRatio; // Smallest and largest actual/predicted of a single run
+    private double maxRatio;
+    private double meanPredictedEvents;
+    private double meanActualEvents;
+
+    public CostAccuracy(String algorithm, long runs, double meanPredictedMillis, double meanActualMillis,
+            double ratio, double minRatio, double maxRatio, double meanPredictedEvents, double meanActualEvents) {
+        this.algorithm = algorithm;
+        this.runs = runs;
+        this.meanPredictedMillis = meanPredictedMillis;
+        this.meanActualMillis = meanActualMillis;
+        this.ratio = ratio;
+        this.minRatio = minRatio;
+        this.maxRatio = maxRatio;
+        this.meanPredictedEvents = meanPredictedEvents;
+        this.meanActualEvents = meanActualEvents;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public double getMeanPredictedMillis() {
+        return meanPredictedMillis;
+    }
+
+    public double getMeanActualMillis() {
+        return meanActualMillis;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public double getMinRatio() {
+        return minRatio;
+    }
+
+    public double getMaxRatio() {
+        return maxRatio;
+    }
+
+    public double getMeanPredictedEvents() {
+        return meanPredictedEvents;
+    }
+
+    public double getMeanActualEvents() {
+        return meanActualEvents;
+    }
+
+    @Override
+    public String toString() {
+        return "CostAccuracy{" +
+                "algorithm='" + algorithm + '\'' +
+                ", runs=" + runs +
+                ", ratio=" + ratio +
+                ", minRatio=" + minRatio +
+                ", maxRatio=" + maxRatio +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+// Predicted cost of a simulation before it runs, and whether it should run right away, as a job or not at all
+
+package com.cpusim.model;
+
+public class CostEstimate {
+    private String algorithm; // Normalized algorithm key (fcfs, sjf, srtf, pp, rr)
+    private int quantum; // Only meaningful for rr
+    private int processCount;
+    private long totalBurstTime;
+    private long arrivalSpan; // Last arrival minus first arrival
+    private long makespan; // Time the last process finishes, the same for every algorithm on one core
+    private long steps; // Scheduling decisions: one per process, one per time slice for rr
+    private long predictedEvents; // Timeline events the run records
+    private double predictedMillis;
+    private Route route;
+    private String reason; // Why the run is rejected, null otherwise
+
+    public enum Route {
+        SYNC, // Cheap enough to run on the request thread
+        ASYNC, // Should run as a background job
+        REJECT // Too expensive, or would never finish
+    }
+
+    public CostEstimate(String algorithm, int quantum, int processCount, long totalBurstTime, long arrivalSpan,
+            long makespan, long steps, long predictedEvents, double predictedMillis, Route route, String reason) {
+        this.algorithm = algorithm;
+        this.quantum = quantum;
+        this.processCount = processCount;
+        this.totalBurstTime = totalBurstTime;
+        this.arrivalSpan = arrivalSpan;
+        this.makespan = makespan;
+        this.steps = steps;
+        this.predictedEvents = predictedEvents;
+        this.predictedMillis = predictedMillis;
+        this.route = route;
+        this.reason = reason;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getQuantum() {
+        return quantum;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public long getTotalBurstTime() {
+        return totalBurstTime;
+    }
+
+    public long getArrivalSpan() {
+        return arrivalSpan;
+    }
+
+    public long getMakespan() {
+        return makespan;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getPredictedEvents() {
+        return predictedEvents;
+    }
+
+    public double getPredictedMillis() {
+        return predictedMillis;
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "CostEstimate{" +
+                "algorithm='" + algorithm + '\'' +
+                ", processCount=" + processCount +
+                ", steps=" + steps +
+                ", predictedMillis=" + predictedMillis +
+                ", route=" + route +
+                '}';
+    }
+}
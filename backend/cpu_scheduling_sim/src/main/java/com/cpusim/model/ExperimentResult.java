@@ -0,0 +1,48 @@
+// Aggregated results of a Monte Carlo batch experiment
+
+package com.cpusim.model;
+
+import java.util.List;
+
+public class ExperimentResult {
+    private long seed;
+    private int replications;
+    private int quantum; // Round Robin quantum used in every replication
+    private double wallTimeMillis;
+    private List<AlgorithmStatistics> algorithms;
+
+    public ExperimentResult(long seed, int replications, int quantum, double wallTimeMillis,
+            List<AlgorithmStatistics> algorithms) {
+        this.seed = seed;
+        this.replications = replications;
+        this.quantum = quantum;
+        this.wallTimeMillis = wallTimeMillis;
+        this.algorithms = algorithms;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public int getQuantum() {
+        return quantum;
+    }
+
+    public double getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    public List<AlgorithmStatistics> getAlgorithms() {
+        return algorithms;
+    }
+
+    @Override
+    public String toString() {
+        return "ExperimentResult{seed=" + seed + ", replications=" + replications + ", wallTimeMillis="
+                + wallTimeMillis + ", algorithms=" + algorithms + '}';
+    }
+}
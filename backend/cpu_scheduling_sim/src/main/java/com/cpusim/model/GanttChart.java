@@ -0,0 +1,100 @@
+// Run-length (Gantt) representation of a simulation: which process held the CPU over which interval
+
+package com.cpusim.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Schedulers report every slice they execute and consecutive slices of the same process are merged
+ * into one segment, so e.g. a process that Round Robin keeps re-dispatching because nothing else is
+ * ready costs a single segment. Idle time is the gap between two segments.
+ */
+public final class GanttChart {
+    private final Workload workload;
+    private int[] slots;
+    private int[] starts;
+    private int[] ends;
+    private int size;
+
+    public GanttChart(Workload workload) {
+        this(workload, workload.size());
+    }
+
+    // Initial capacity in segments, the chart still grows past it when needed
+    public GanttChart(Workload workload, int initialCapacity) {
+        this.workload = workload;
+        int capacity = Math.max(initialCapacity, 8);
+        this.slots = new int[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
+
+    /**
+     * Records that the process in the given workload slot ran from start to end
+     */
+    public void run(int slot, int start, int end) {
+        if (end <= start) {
+            return;
+        }
+        if (size > 0 && slots[size - 1] == slot && ends[size - 1] == start) {
+            ends[size - 1] = end;
+            return;
+        }
+        if (size == slots.length) {
+            int capacity = size * 2;
+            slots = Arrays.copyOf(slots, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        slots[size] = slot;
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Segments the chart has room for without growing, i.e. what it holds on the heap
+    public int capacity() {
+        return slots.length;
+    }
+
+    public int pid(int index) {
+        return workload.pid(slots[index]);
+    }
+
+    public int start(int index) {
+        return starts[index];
+    }
+
+    public int end(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Read-only List view that creates GanttSegment objects on access
+     */
+    public List<GanttSegment> asList() {
+        return new SegmentList();
+    }
+
+    private class SegmentList extends AbstractList<GanttSegment> implements RandomAccess {
+        @Override
+        public GanttSegment get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return new GanttSegment(pid(index), starts[index], ends[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// Represents one uninterrupted run of a process on the CPU, from start (inclusive) to end (exclusive)
+
+package com.cpusim.model;
+
+public class GanttSegment {
+    private int pid;
+    private int start;
+    private int end;
+
+    public GanttSegment(int pid, int start, int end) {
+        this.pid = pid;
+        this.start = start;
+        this.end = end;
+    }
+
+    public int getPid() {
+        return pid;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return "P%d [%d, %d)".formatted(pid, start, end);
+    }
+}
@@ -0,0 +1,66 @@
+// Snapshot of an asynchronous simulation job, as returned by the /jobs endpoints
+
+package com.cpusim.model;
+
+public class JobStatus {
+    private String id;
+    private State state;
+    private String algorithm; // Scheduler name, includes the quantum for Round Robin
+    private int processCount;
+    private double queueMillis; // Time spent waiting for a worker so far
+    private double runMillis; // Time spent simulating so far, 0 until the job starts
+    private String error; // Why the job failed, null otherwise
+
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED, CANCELLED
+    }
+
+    public JobStatus(String id, State state, String algorithm, int processCount, double queueMillis,
+            double runMillis, String error) {
+        this.id = id;
+        this.state = state;
+        this.algorithm = algorithm;
+        this.processCount = processCount;
+        this.queueMillis = queueMillis;
+        this.runMillis = runMillis;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public double getQueueMillis() {
+        return queueMillis;
+    }
+
+    public double getRunMillis() {
+        return runMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "JobStatus{" +
+                "id='" + id + '\'' +
+                ", state=" + state +
+                ", algorithm='" + algorithm + '\'' +
+                ", processCount=" + processCount +
+                '}';
+    }
+}
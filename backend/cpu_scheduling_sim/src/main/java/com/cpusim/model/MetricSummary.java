@@ -0,0 +1,82 @@
+// Summary statistics of one metric over the replications of a batch experiment
+
+package com.cpusim.model;
+
+public class MetricSummary {
+    private long count;
+    private double mean;
+    private double variance;
+    private double standardDeviation;
+    private double confidenceLow; // 95% confidence interval of the mean
+    private double confidenceHigh;
+    private double min;
+    private double max;
+    private double p50; // Percentiles are approximate, within about 1%
+    private double p90;
+    private double p99;
+
+    public MetricSummary(long count, double mean, double variance, double standardDeviation, double confidenceLow,
+            double confidenceHigh, double min, double max, double p50, double p90, double p99) {
+        this.count = count;
+        this.mean = mean;
+        this.variance = variance;
+        this.standardDeviation = standardDeviation;
+        this.confidenceLow = confidenceLow;
+        this.confidenceHigh = confidenceHigh;
+        this.min = min;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getConfidenceLow() {
+        return confidenceLow;
+    }
+
+    public double getConfidenceHigh() {
+        return confidenceHigh;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricSummary{mean=" + mean + " [" + confidenceLow + ", " + confidenceHigh + "], p50=" + p50
+                + ", p90=" + p90 + ", p99=" + p99 + '}';
+    }
+}
@@ -0,0 +1,62 @@
+// Results of a multi-core simulation: overall metrics plus a breakdown per core
+
+package com.cpusim.model;
+
+import java.util.List;
+import java.util.Map;
+
+public class MultiCoreResult {
+    private int makespan; // Time the last process finished
+    private double averageWaitingTime;
+    private double averageTurnaroundTime;
+    private int totalContextSwitches;
+    private int steals; // Processes an idle core took from another core's queue
+    private List<CoreStats> cores;
+    private final ProcessMetrics processMetrics; // null unless per-process metrics were recorded
+
+    public MultiCoreResult(int makespan, double averageWaitingTime, double averageTurnaroundTime,
+            int totalContextSwitches, int steals, List<CoreStats> cores, ProcessMetrics processMetrics) {
+        this.makespan = makespan;
+        this.averageWaitingTime = averageWaitingTime;
+        this.averageTurnaroundTime = averageTurnaroundTime;
+        this.totalContextSwitches = totalContextSwitches;
+        this.steals = steals;
+        this.cores = cores;
+        this.processMetrics = processMetrics;
+    }
+
+    public int getMakespan() {
+        return makespan;
+    }
+
+    public double getAverageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    public double getAverageTurnaroundTime() {
+        return averageTurnaroundTime;
+    }
+
+    public int getTotalContextSwitches() {
+        return totalContextSwitches;
+    }
+
+    public int getSteals() {
+        return steals;
+    }
+
+    public List<CoreStats> getCores() {
+        return cores;
+    }
+
+    public Map<Integer, Integer> getCompletionTimes() {
+        return processMetrics != null ? processMetrics.completionTimesByPid() : Map.of();
+    }
+
+    @Override
+    public String toString() {
+        return "MultiCoreResult{makespan=" + makespan + ", averageWaitingTime=" + averageWaitingTime
+                + ", averageTurnaroundTime=" + averageTurnaroundTime + ", totalContextSwitches="
+                + totalContextSwitches + ", steals=" + steals + ", cores=" + cores.size() + '}';
+    }
+}
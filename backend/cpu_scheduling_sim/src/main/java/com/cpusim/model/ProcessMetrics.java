@@ -0,0 +1,176 @@
+// Per-process metrics of one simulation, stored as dense int arrays indexed by workload slot
+
+package com.cpusim.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Completion times are the only thing a scheduler has to record per process: waiting and turnaround
+ * times follow from the workload's arrival and burst columns. The Map views give the pid -> value shape
+ * the frontend consumes without boxing every entry up front.
+ */
+public final class ProcessMetrics {
+    private final Workload workload;
+    private final int[] completionTimes; // slot -> completion time
+    private final double averageWaitingTime;
+    private final double averageTurnaroundTime;
+
+    // Lazily built pid lookup for Map.get: pids in ascending order and the slot each one belongs to
+    private volatile int[] sortedPids;
+    private int[] slotsByPid;
+
+    public ProcessMetrics(Workload workload, int[] completionTimes) {
+        if (completionTimes.length != workload.size()) {
+            throw new IllegalArgumentException("Expected " + workload.size() + " completion times, got "
+                    + completionTimes.length);
+        }
+        this.workload = workload;
+        this.completionTimes = completionTimes;
+
+        // Aggregates in one primitive pass
+        long totalWaitingTime = 0;
+        long totalTurnaroundTime = 0;
+        for (int slot = 0; slot < completionTimes.length; slot++) {
+            int turnaroundTime = completionTimes[slot] - workload.arrivalTime(slot);
+            totalTurnaroundTime += turnaroundTime;
+            totalWaitingTime += turnaroundTime - workload.burstTime(slot);
+        }
+        this.averageWaitingTime = (double) totalWaitingTime / completionTimes.length;
+        this.averageTurnaroundTime = (double) totalTurnaroundTime / completionTimes.length;
+    }
+
+    public int size() {
+        return completionTimes.length;
+    }
+
+    public int pid(int slot) {
+        return workload.pid(slot);
+    }
+
+    public int completionTime(int slot) {
+        return completionTimes[slot];
+    }
+
+    public int turnaroundTime(int slot) {
+        return completionTimes[slot] - workload.arrivalTime(slot);
+    }
+
+    public int waitingTime(int slot) {
+        return turnaroundTime(slot) - workload.burstTime(slot);
+    }
+
+    public double averageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    public double averageTurnaroundTime() {
+        return averageTurnaroundTime;
+    }
+
+    public Map<Integer, Integer> completionTimesByPid() {
+        return new PidMap(this::completionTime);
+    }
+
+    public Map<Integer, Integer> waitingTimesByPid() {
+        return new PidMap(this::waitingTime);
+    }
+
+    public Map<Integer, Integer> turnaroundTimesByPid() {
+        return new PidMap(this::turnaroundTime);
+    }
+
+    // Returns the slot of the given pid, or -1 if no process has it
+    public int slotOf(int pid) {
+        if (sortedPids == null) {
+            buildPidIndex();
+        }
+        int i = Arrays.binarySearch(sortedPids, pid);
+        return i >= 0 ? slotsByPid[i] : -1;
+    }
+
+    private synchronized void buildPidIndex() {
+        if (sortedPids != null) {
+            return;
+        }
+        long[] keys = new long[size()];
+        for (int slot = 0; slot < keys.length; slot++) {
+            keys[slot] = ((long) workload.pid(slot) << 32) | slot;
+        }
+        Arrays.sort(keys);
+        int[] pids = new int[keys.length];
+        int[] slots = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            pids[i] = (int) (keys[i] >> 32);
+            slots[i] = (int) keys[i];
+        }
+        slotsByPid = slots;
+        sortedPids = pids;
+    }
+
+    // Read-only pid -> value view over one of the metric columns, iterated in slot order. A Workload's pids are
+    // unique, so there is one entry per slot.
+    private class PidMap extends AbstractMap<Integer, Integer> {
+        private final IntUnaryOperator valueAt;
+
+        PidMap(IntUnaryOperator valueAt) {
+            this.valueAt = valueAt;
+        }
+
+        @Override
+        public int size() {
+            return ProcessMetrics.this.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer pid && slotOf(pid) >= 0;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            if (!(key instanceof Integer pid)) {
+                return null;
+            }
+            int slot = slotOf(pid);
+            return slot >= 0 ? valueAt.applyAsInt(slot) : null;
+        }
+
+        @Override
+        public Set<Entry<Integer, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return ProcessMetrics.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<Integer, Integer>> iterator() {
+                    return new Iterator<>() {
+                        private int slot = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return slot < ProcessMetrics.this.size();
+                        }
+
+                        @Override
+                        public Entry<Integer, Integer> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = slot++;
+                            return new SimpleImmutableEntry<>(pid(current), valueAt.applyAsInt(current));
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,40 @@
+// Metrics of one Round Robin run in a quantum sweep
+
+package com.cpusim.model;
+
+public class QuantumSweepPoint {
+    private int quantum;
+    private double averageWaitingTime;
+    private double averageTurnaroundTime;
+    private int contextSwitches;
+
+    public QuantumSweepPoint(int quantum, double averageWaitingTime, double averageTurnaroundTime,
+            int contextSwitches) {
+        this.quantum = quantum;
+        this.averageWaitingTime = averageWaitingTime;
+        this.averageTurnaroundTime = averageTurnaroundTime;
+        this.contextSwitches = contextSwitches;
+    }
+
+    public int getQuantum() {
+        return quantum;
+    }
+
+    public double getAverageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    public double getAverageTurnaroundTime() {
+        return averageTurnaroundTime;
+    }
+
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+
+    @Override
+    public String toString() {
+        return "q=" + quantum + " (wait " + averageWaitingTime + ", turnaround " + averageTurnaroundTime
+                + ", switches " + contextSwitches + ")";
+    }
+}
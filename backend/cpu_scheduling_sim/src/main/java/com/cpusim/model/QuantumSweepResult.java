@@ -0,0 +1,35 @@
+// Waiting, turnaround and context switch curves of Round Robin over a range of quanta
+
+package com.cpusim.model;
+
+import java.util.List;
+
+public class QuantumSweepResult {
+    private List<QuantumSweepPoint> points; // Ascending by quantum
+    private int bestQuantum; // Lowest average waiting time, fewer context switches on ties
+    private double wallTimeMillis;
+
+    public QuantumSweepResult(List<QuantumSweepPoint> points, int bestQuantum, double wallTimeMillis) {
+        this.points = points;
+        this.bestQuantum = bestQuantum;
+        this.wallTimeMillis = wallTimeMillis;
+    }
+
+    public List<QuantumSweepPoint> getPoints() {
+        return points;
+    }
+
+    public int getBestQuantum() {
+        return bestQuantum;
+    }
+
+    public double getWallTimeMillis() {
+        return wallTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantumSweepResult{points=" + points.size() + ", bestQuantum=" + bestQuantum + ", wallTimeMillis="
+                + wallTimeMillis + '}';
+    }
+}
@@ -0,0 +1,60 @@
+// State of a scheduler at one point in time, taken from a SchedulingCursor
+
+package com.cpusim.model;
+
+import java.util.List;
+
+public class SchedulerSnapshot {
+    private int time;
+    private int runningPid; // 0 when the CPU is idle, like CPU_IDLE events
+    private int runningBurstRemaining;
+    private List<Integer> readyPids; // In the order the scheduler would dispatch them
+    private int completedProcesses;
+    private int contextSwitches;
+    private boolean finished;
+
+    public SchedulerSnapshot(int time, int runningPid, int runningBurstRemaining, List<Integer> readyPids,
+            int completedProcesses, int contextSwitches, boolean finished) {
+        this.time = time;
+        this.runningPid = runningPid;
+        this.runningBurstRemaining = runningBurstRemaining;
+        this.readyPids = readyPids;
+        this.completedProcesses = completedProcesses;
+        this.contextSwitches = contextSwitches;
+        this.finished = finished;
+    }
+
+    public int getTime() {
+        return time;
+    }
+
+    public int getRunningPid() {
+        return runningPid;
+    }
+
+    public int getRunningBurstRemaining() {
+        return runningBurstRemaining;
+    }
+
+    public List<Integer> getReadyPids() {
+        return readyPids;
+    }
+
+    public int getCompletedProcesses() {
+        return completedProcesses;
+    }
+
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerSnapshot{time=" + time + ", runningPid=" + runningPid + ", readyPids=" + readyPids
+                + ", completedProcesses=" + completedProcesses + ", contextSwitches=" + contextSwitches + '}';
+    }
+}
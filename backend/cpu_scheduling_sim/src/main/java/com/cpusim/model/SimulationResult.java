@@ -7,34 +7,63 @@ import java.util.Map;
 
 public class SimulationResult {
     private List<TimelineEvent> timeline;
+    private List<GanttSegment> segments;
     private double averageWaitingTime;
     private double averageTurnaroundTime;
     private int totalContextSwitches;
-    private Map<Integer, Integer> completionTimes; // pid -> completion time
-    private Map<Integer, Integer> waitingTimes; // pid -> waiting time
-    private Map<Integer, Integer> turnaroundTimes; // pid -> turnaround time
+    private ProcessMetrics processMetrics; // null when only aggregates were kept
+    private TimelineBuffer timelineBuffer; // Backs the timeline list when set, lets serializers skip the event objects
+    private GanttChart ganttChart; // Backs the segment list when set
 
     public SimulationResult(
             List<TimelineEvent> timeline,
+            List<GanttSegment> segments,
+            int totalContextSwitches,
+            ProcessMetrics processMetrics) {
+        this.timeline = timeline;
+        this.segments = segments;
+        this.averageWaitingTime = processMetrics.averageWaitingTime();
+        this.averageTurnaroundTime = processMetrics.averageTurnaroundTime();
+        this.totalContextSwitches = totalContextSwitches;
+        this.processMetrics = processMetrics;
+    }
+
+    // Timeline and segments as recorded by the scheduler, either may be null when it wasn't recorded
+    public SimulationResult(
+            TimelineBuffer timelineBuffer,
+            GanttChart ganttChart,
+            int totalContextSwitches,
+            ProcessMetrics processMetrics) {
+        this(timelineBuffer != null ? timelineBuffer.asList() : List.of(),
+                ganttChart != null ? ganttChart.asList() : List.of(),
+                totalContextSwitches, processMetrics);
+        this.timelineBuffer = timelineBuffer;
+        this.ganttChart = ganttChart;
+    }
+
+    // Aggregates only, the per-process maps are empty
+    public SimulationResult(
+            List<TimelineEvent> timeline,
+            List<GanttSegment> segments,
             double averageWaitingTime,
             double averageTurnaroundTime,
-            int totalContextSwitches,
-            Map<Integer, Integer> completionTimes,
-            Map<Integer, Integer> waitingTimes,
-            Map<Integer, Integer> turnaroundTimes) {
+            int totalContextSwitches) {
         this.timeline = timeline;
+        this.segments = segments;
         this.averageWaitingTime = averageWaitingTime;
         this.averageTurnaroundTime = averageTurnaroundTime;
         this.totalContextSwitches = totalContextSwitches;
-        this.completionTimes = completionTimes;
-        this.waitingTimes = waitingTimes;
-        this.turnaroundTimes = turnaroundTimes;
     }
 
     public List<TimelineEvent> getTimeline() {
         return timeline;
     }
 
+    // Consecutive runs of the same process merged into (pid, start, end) segments
+    public List<GanttSegment> getSegments() {
+        return segments;
+    }
+
     public double getAverageWaitingTime() {
         return averageWaitingTime;
     }
@@ -47,16 +76,51 @@ public class SimulationResult {
         return totalContextSwitches;
     }
 
+    // pid -> completion time
     public Map<Integer, Integer> getCompletionTimes() {
-        return completionTimes;
+        return processMetrics != null ? processMetrics.completionTimesByPid() : Map.of();
     }
 
+    // pid -> waiting time
     public Map<Integer, Integer> getWaitingTimes() {
-        return waitingTimes;
+        return processMetrics != null ? processMetrics.waitingTimesByPid() : Map.of();
     }
 
+    // pid -> turnaround time
     public Map<Integer, Integer> getTurnaroundTimes() {
-        return turnaroundTimes;
+        return processMetrics != null ? processMetrics.turnaroundTimesByPid() : Map.of();
+    }
+
+    // Not a bean getter so it stays out of the JSON, the maps above expose the same data
+    public ProcessMetrics processMetrics() {
+        return processMetrics;
+    }
+
+    // The buffer behind getTimeline(), null if the timeline is a plain list
+    public TimelineBuffer timelineBuffer() {
+        return timelineBuffer;
+    }
+
+    // The chart behind getSegments(), null if the segments are a plain list
+    public GanttChart ganttChart() {
+        return ganttChart;
+    }
+
+    /**
+     * Copy of this result without the point-event timeline, for clients that only need the segments
+     */
+    public SimulationResult withoutTimeline() {
+        SimulationResult copy = new SimulationResult(List.of(), segments, averageWaitingTime,
+                averageTurnaroundTime, totalContextSwitches);
+        copy.processMetrics = processMetrics;
+        copy.ganttChart = ganttChart;
+        return copy;
+    }
+
+    // Aggregates only, what a SimulationOptions.METRICS_ONLY run would have returned
+    public SimulationResult metricsOnly() {
+        return new SimulationResult(List.of(), List.of(), averageWaitingTime, averageTurnaroundTime,
+                totalContextSwitches);
     }
 
     @Override
@@ -65,6 +129,7 @@ public class SimulationResult {
                 "averageWaitingTime=" + averageWaitingTime +
                 ", totalContextSwitches=" + totalContextSwitches +
                 ", timelineSize=" + (timeline != null ? timeline.size() : 0) +
+                ", segments=" + (segments != null ? segments.size() : 0) +
                 '}';
     }
 }
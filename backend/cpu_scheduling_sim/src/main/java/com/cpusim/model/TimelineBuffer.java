@@ -0,0 +1,176 @@
+// Compact, append-only timeline that stores each event as two packed longs
+
+package com.cpusim.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.cpusim.model.TimelineEvent.EventType;
+
+/**
+ * Timeline storage used by the schedulers. Every event is packed into two longs:
+ * <ul>
+ * <li>word 0: time (high 32 bits) | workload slot + 1 (low 32 bits, 0 for CPU idle)</li>
+ * <li>word 1: event type ordinal (high 32 bits) | burst remaining (low 32 bits)</li>
+ * </ul>
+ * The pid and priority are read back from the workload through the slot.
+ *
+ * Schedulers append events in time order. Arrival events are merged in from the arrival-sorted workload
+ * right before the first event at or after their arrival time, which gives the same order as sorting by
+ * (time, event priority) without a final sort. TimelineEvent objects are only created when an event is
+ * read, e.g. while the result is serialized.
+ */
+public final class TimelineBuffer {
+    private static final EventType[] TYPES = EventType.values();
+    private static final long LOW_BITS = 0xFFFFFFFFL;
+
+    private final Workload workload;
+    private long[] words;
+    private int size;
+    private int nextArrival; // Next workload slot whose arrival has not been logged yet
+
+    public TimelineBuffer(Workload workload) {
+        // Every process contributes at least an arrival, a start and a finish event
+        this(workload, 3 * workload.size());
+    }
+
+    // Initial capacity in events, the buffer still grows past it when needed
+    public TimelineBuffer(Workload workload, int initialCapacity) {
+        this.workload = workload;
+        this.words = new long[2 * Math.max(initialCapacity, 8)];
+    }
+
+    public void start(int time, int slot, int burstRemaining) {
+        append(time, slot, EventType.PROCESS_START, burstRemaining);
+    }
+
+    public void contextSwitch(int time, int slot, int burstRemaining) {
+        append(time, slot, EventType.CONTEXT_SWITCH, burstRemaining);
+    }
+
+    public void finish(int time, int slot) {
+        append(time, slot, EventType.PROCESS_FINISH, 0);
+    }
+
+    public void idle(int time) {
+        append(time, -1, EventType.CPU_IDLE, 0);
+    }
+
+    /**
+     * Logs any arrivals that have not been merged in yet. Called once the simulation is over.
+     */
+    public void close() {
+        logArrivals(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Logs the arrivals up to the given time right away instead of waiting for the next event. Only valid
+     * once the scheduler has moved past that time, i.e. no event at or before it is still to come.
+     */
+    public void logArrivalsUpTo(int time) {
+        logArrivals(time);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Events the buffer has room for without growing, i.e. what it holds on the heap
+    public int capacity() {
+        return words.length / 2;
+    }
+
+    /**
+     * Drops the events recorded so far but keeps track of which arrivals were logged, so recording can
+     * carry on where it left off. Used to drain the buffer chunk by chunk while streaming.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int time(int index) {
+        return (int) (words[2 * index] >> 32);
+    }
+
+    // Workload slot of the event's process, -1 for CPU idle
+    public int slot(int index) {
+        return (int) (words[2 * index] & LOW_BITS) - 1;
+    }
+
+    public int pid(int index) {
+        int slot = slot(index);
+        return slot >= 0 ? workload.pid(slot) : 0;
+    }
+
+    public EventType type(int index) {
+        return TYPES[(int) (words[2 * index + 1] >>> 32)];
+    }
+
+    // Only meaningful for arrival, start and context switch events
+    public int burstRemaining(int index) {
+        return (int) words[2 * index + 1];
+    }
+
+    // Priority of the event's process, only meaningful for events that have one (not CPU idle)
+    public int priority(int index) {
+        return workload.priority(slot(index));
+    }
+
+    public TimelineEvent event(int index) {
+        int slot = slot(index);
+        EventType type = type(index);
+        return switch (type) {
+            case CPU_IDLE -> new TimelineEvent(time(index), 0, type);
+            case PROCESS_FINISH -> new TimelineEvent(time(index), workload.pid(slot), type);
+            default -> new TimelineEvent(time(index), workload.pid(slot), type, burstRemaining(index),
+                    workload.priority(slot));
+        };
+    }
+
+    /**
+     * Read-only List view that materializes TimelineEvent objects on access
+     */
+    public List<TimelineEvent> asList() {
+        return new EventList();
+    }
+
+    private void append(int time, int slot, EventType type, int burstRemaining) {
+        logArrivals(time);
+        write(time, slot, type, burstRemaining);
+    }
+
+    // Arrivals are logged before any other event at the same time
+    private void logArrivals(int time) {
+        while (nextArrival < workload.size() && workload.arrivalTime(nextArrival) <= time) {
+            write(workload.arrivalTime(nextArrival), nextArrival, EventType.PROCESS_ARRIVAL,
+                    workload.burstTime(nextArrival));
+            nextArrival++;
+        }
+    }
+
+    private void write(int time, int slot, EventType type, int burstRemaining) {
+        if (2 * size == words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        words[2 * size] = ((long) time << 32) | ((slot + 1) & LOW_BITS);
+        words[2 * size + 1] = ((long) type.ordinal() << 32) | (burstRemaining & LOW_BITS);
+        size++;
+    }
+
+    private class EventList extends AbstractList<TimelineEvent> implements RandomAccess {
+        @Override
+        public TimelineEvent get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return event(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+// Immutable columnar set of processes to simulate, sorted by arrival time once up front
+
+package com.cpusim.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays view of a workload. Each process occupies one slot and its attributes live in
+ * parallel int columns, so schedulers can walk the arrays directly instead of chasing Process
+ * references. Slots are ordered by arrival time, ties keep the order the processes were given in.
+ * Every process has a burst time of at least 1 and arrives at or after time 0, anything else would
+ * never finish or give negative waiting times. Pids are unique, results are keyed by them.
+ */
+public final class Workload {
+    private final int[] pids;
+    private final int[] arrivalTimes;
+    private final int[] burstTimes;
+    private final int[] priorities;
+
+    private Workload(int[] pids, int[] arrivalTimes, int[] burstTimes, int[] priorities) {
+        this.pids = pids;
+        this.arrivalTimes = arrivalTimes;
+        this.burstTimes = burstTimes;
+        this.priorities = priorities;
+    }
+
+    public static Workload of(List<Process> processes) {
+        Builder builder = new Builder(processes.size());
+        for (Process p : processes) {
+            builder.add(p.getPid(), p.getBurstTime(), p.getPriority(), p.getArrivalTime());
+        }
+        return builder.build();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the process could not be part of a workload
+     */
+    public static void checkProcess(int pid, int burstTime, int arrivalTime) {
+        if (burstTime < 1) {
+            throw new IllegalArgumentException(
+                    "Process " + pid + " has burst time " + burstTime + ", must be at least 1");
+        }
+        if (arrivalTime < 0) {
+            throw new IllegalArgumentException("Process " + pid + " has negative arrival time " + arrivalTime);
+        }
+    }
+
+    public int size() {
+        return pids.length;
+    }
+
+    public int pid(int slot) {
+        return pids[slot];
+    }
+
+    public int arrivalTime(int slot) {
+        return arrivalTimes[slot];
+    }
+
+    public int burstTime(int slot) {
+        return burstTimes[slot];
+    }
+
+    public int priority(int slot) {
+        return priorities[slot];
+    }
+
+    /**
+     * Binary search for the first slot at or after fromSlot whose arrival time is later than time.
+     * Every slot in [fromSlot, result) has arrived by the given time.
+     */
+    public int arrivedBy(int fromSlot, int time) {
+        int low = fromSlot;
+        int high = arrivalTimes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (arrivalTimes[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long totalBurstTime() {
+        long total = 0;
+        for (int burst : burstTimes) {
+            total += burst;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the processes as Process objects in slot (arrival) order
+     */
+    public List<Process> toProcesses() {
+        List<Process> processes = new ArrayList<>(size());
+        for (int slot = 0; slot < size(); slot++) {
+            processes.add(new Process(pids[slot], burstTimes[slot], priorities[slot], arrivalTimes[slot]));
+        }
+        return processes;
+    }
+
+    @Override
+    public String toString() {
+        return "Workload{size=" + size() + '}';
+    }
+
+    /**
+     * Collects processes into growable columns and sorts them by arrival time on build()
+     */
+    public static final class Builder {
+        private int[] pids;
+        private int[] arrivalTimes;
+        private int[] burstTimes;
+        private int[] priorities;
+        private int size;
+        private boolean sorted = true;
+        private boolean pidsAscending = true; // Ascending pids can't repeat, so build() skips the duplicate check
+        private boolean shared; // The columns were handed to a built Workload and must be copied before writing
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            pids = new int[capacity];
+            arrivalTimes = new int[capacity];
+            burstTimes = new int[capacity];
+            priorities = new int[capacity];
+        }
+
+        public Builder add(int pid, int burstTime, int priority, int arrivalTime) {
+            checkProcess(pid, burstTime, arrivalTime);
+            if (size == pids.length || shared) {
+                int capacity = size == pids.length ? size * 2 : pids.length;
+                pids = Arrays.copyOf(pids, capacity);
+                arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+                burstTimes = Arrays.copyOf(burstTimes, capacity);
+                priorities = Arrays.copyOf(priorities, capacity);
+                shared = false;
+            }
+            if (size > 0 && arrivalTime < arrivalTimes[size - 1]) {
+                sorted = false;
+            }
+            if (size > 0 && pid <= pids[size - 1]) {
+                pidsAscending = false;
+            }
+            pids[size] = pid;
+            arrivalTimes[size] = arrivalTime;
+            burstTimes[size] = burstTime;
+            priorities[size] = priority;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @throws IllegalArgumentException if two processes have the same pid
+         */
+        public Workload build() {
+            if (!pidsAscending) {
+                checkUniquePids();
+            }
+            if (sorted && size == pids.length) {
+                // Presized builders, like the bulk importers use, give their columns away without a copy
+                shared = true;
+                return new Workload(pids, arrivalTimes, burstTimes, priorities);
+            }
+            if (sorted) {
+                return new Workload(Arrays.copyOf(pids, size), Arrays.copyOf(arrivalTimes, size),
+                        Arrays.copyOf(burstTimes, size), Arrays.copyOf(priorities, size));
+            }
+
+            // Stable sort by arrival time: pack (arrival, original index) into one long so a primitive
+            // sort can be used and equal arrivals keep their insertion order. parallelSort sorts small arrays
+            // sequentially and splits bulk imports of millions of processes across cores.
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) arrivalTimes[i] << 32) | i;
+            }
+            Arrays.parallelSort(keys);
+
+            int[] sortedPids = new int[size];
+            int[] sortedArrivals = new int[size];
+            int[] sortedBursts = new int[size];
+            int[] sortedPriorities = new int[size];
+            for (int slot = 0; slot < size; slot++) {
+                int i = (int) keys[slot];
+                sortedPids[slot] = pids[i];
+                sortedArrivals[slot] = arrivalTimes[i];
+                sortedBursts[slot] = burstTimes[i];
+                sortedPriorities[slot] = priorities[i];
+            }
+            return new Workload(sortedPids, sortedArrivals, sortedBursts, sortedPriorities);
+        }
+
+        private void checkUniquePids() {
+            int[] sortedPids = Arrays.copyOf(pids, size);
+            Arrays.parallelSort(sortedPids);
+            for (int i = 1; i < size; i++) {
+                if (sortedPids[i] == sortedPids[i - 1]) {
+                    throw new IllegalArgumentException("Duplicate pid " + sortedPids[i]);
+                }
+            }
+        }
+    }
+}
@@ -11,87 +11,222 @@ import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
 import com.cpusim.model.TimelineEvent;
 import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.model.Workload;
 
 public class FCFSScheduler implements Scheduler {
 
     @Override
-    public SimulationResult schedule(List<Process> processes) {
-        List<Process> processList = new ArrayList<>(processes);
+    public SimulationResult schedule(Workload workload, SimulationOptions options) {
+        SimulationRecorder recorder = new SimulationRecorder(workload, options);
+        return SchedulingRun.runToEnd(new Run(workload, recorder), recorder);
+    }
+
+    @Override
+    public SchedulingCursor cursor(Workload workload) {
+        return new SchedulingCursor(workload, recorder -> new Run(workload, recorder));
+    }
 
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
+    // Processes run to completion in order of arrival
+    private static class Run implements SchedulingRun {
+        private final Workload workload;
+        private final SimulationRecorder recorder;
 
-        List<TimelineEvent> timeline = new ArrayList<>();
-        Map<Integer, Integer> completionTimes = new HashMap<>();
-        Map<Integer, Integer> waitingTimes = new HashMap<>();
-        Map<Integer, Integer> turnaroundTimes = new HashMap<>();
+        private int currentTime = 0;
+        private boolean wasIdle = false;
+        private int nextSlot = 0; // Next process to run
+        private int runningSlot = -1;
+        private int runEnd; // Completion time of the running process
 
-        // Log all process arrivals
-        for (Process p : processList) {
-            timeline.add(new TimelineEvent(p.getArrivalTime(), p.getPid(), EventType.PROCESS_ARRIVAL, p.getBurstTime(),
-                    p.getPriority()));
+        Run(Workload workload, SimulationRecorder recorder) {
+            this.workload = workload;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public boolean isDone() {
+            return nextSlot == workload.size() && runningSlot == -1;
+        }
+
+        @Override
+        public int time() {
+            return currentTime;
+        }
+
+        @Override
+        public boolean step(int limit) {
+            if (runningSlot != -1) {
+                if (runEnd > limit) {
+                    currentTime = limit;
+                    return false;
+                }
+                currentTime = runEnd; // Run to completion in FCFS
+                recorder.finish(currentTime, runningSlot);
+                runningSlot = -1;
+                return true;
+            }
+
+            int arrivalTime = workload.arrivalTime(nextSlot);
+            if (currentTime < arrivalTime) {
+                if (!wasIdle) {
+                    recorder.idle(currentTime);
+                    wasIdle = true;
+                }
+                if (arrivalTime > limit) {
+                    currentTime = limit;
+                    return false;
+                }
+                currentTime = arrivalTime;
+            }
+
+            int burstTime = workload.burstTime(nextSlot);
+
+            // Only context switch if transitioning from another process (not from idle or
+            // start)
+            if (nextSlot > 0 && !wasIdle) {
+                recorder.contextSwitch(currentTime, nextSlot, burstTime);
+            }
+
+            wasIdle = false;
+
+            recorder.start(currentTime, nextSlot, burstTime);
+            runningSlot = nextSlot++;
+            runEnd = currentTime + burstTime;
+            recorder.run(runningSlot, currentTime, runEnd);
+            return true;
+        }
+
+        @Override
+        public int runningSlot() {
+            return runningSlot;
         }
 
+        @Override
+        public int runningBurstRemaining() {
+            return runningSlot != -1 ? runEnd - currentTime : 0;
+        }
+
+        @Override
+        public int[] readySlots() {
+            int arrived = workload.arrivedBy(nextSlot, currentTime);
+            int[] slots = new int[arrived - nextSlot];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = nextSlot + i;
+            }
+            return slots;
+        }
+    }
+
+    /**
+     * Streaming FCFS for replaying long traces that are already sorted by arrival time.
+     * Processes are pulled from the iterator only when the simulation reaches their arrival time and
+     * timeline events are pushed to the sink in timeline order, so nothing but running totals and the
+     * processes currently waiting in the ready queue is kept in memory.
+     *
+     * @param arrivals Processes in non-decreasing arrival time order
+     * @param sink     Receives every timeline event as it happens
+     * @return SimulationResult with the aggregate metrics, an empty timeline and empty per-process maps
+     */
+    public SimulationResult schedule(Iterator<Process> arrivals, TimelineSink sink) {
+        StreamingState state = new StreamingState(arrivals, sink);
+
         int currentTime = 0;
         int contextSwitches = 0;
+        int processCount = 0;
+        long totalWaitingTime = 0;
+        long totalTurnaroundTime = 0;
         boolean wasIdle = false;
 
-        // Process every process in order of arrival
-        for (int i = 0; i < processList.size(); i++) {
-            Process p = processList.get(i);
-
-            if (currentTime < p.getArrivalTime()) {
-                timeline.add(new TimelineEvent(currentTime, 0, EventType.CPU_IDLE));
-                currentTime = p.getArrivalTime();
-                wasIdle = true;
+        while (true) {
+            if (state.readyQueue.isEmpty()) {
+                if (!state.hasNextArrival()) {
+                    break;
+                }
+
+                // Nothing is waiting, CPU idles until the next arrival
+                int arrivalTime = state.nextArrivalTime();
+                if (currentTime < arrivalTime) {
+                    sink.accept(new TimelineEvent(currentTime, 0, EventType.CPU_IDLE));
+                    currentTime = arrivalTime;
+                    wasIdle = true;
+                }
             }
 
+            // Arrivals are logged before any other event at the same time
+            state.admitArrivals(currentTime);
+            Process p = state.readyQueue.poll();
+
             // Only context switch if transitioning from another process (not from idle or
             // start)
-            if (i > 0 && !wasIdle) {
-                timeline.add(new TimelineEvent(currentTime, p.getPid(), EventType.CONTEXT_SWITCH, p.getBurstTime(),
+            if (processCount > 0 && !wasIdle) {
+                sink.accept(new TimelineEvent(currentTime, p.getPid(), EventType.CONTEXT_SWITCH, p.getBurstTime(),
                         p.getPriority()));
                 contextSwitches++;
             }
 
             wasIdle = false;
 
-            timeline.add(new TimelineEvent(currentTime, p.getPid(), EventType.PROCESS_START, p.getBurstTime(),
+            sink.accept(new TimelineEvent(currentTime, p.getPid(), EventType.PROCESS_START, p.getBurstTime(),
                     p.getPriority()));
             int startTime = currentTime;
             currentTime += p.getBurstTime(); // Run to completion in FCFS
-            timeline.add(new TimelineEvent(currentTime, p.getPid(), EventType.PROCESS_FINISH));
-
-            completionTimes.put(p.getPid(), currentTime);
-
-            int waitingTime = startTime - p.getArrivalTime();
-            waitingTimes.put(p.getPid(), waitingTime);
+            state.admitArrivals(currentTime);
+            sink.accept(new TimelineEvent(currentTime, p.getPid(), EventType.PROCESS_FINISH));
 
-            int turnaroundTime = currentTime - p.getArrivalTime();
-            turnaroundTimes.put(p.getPid(), turnaroundTime);
+            processCount++;
+            totalWaitingTime += startTime - p.getArrivalTime();
+            totalTurnaroundTime += currentTime - p.getArrivalTime();
         }
 
-        // Sort timeline by time, then by event priority
-        timeline.sort(Comparator.comparingInt(TimelineEvent::getTime)
-                .thenComparingInt(e -> getEventPriority(e.getType())));
+        double averageWaitingTime = (double) totalWaitingTime / processCount;
+        double averageTurnaroundTime = (double) totalTurnaroundTime / processCount;
+
+        return new SimulationResult(List.of(), List.of(), averageWaitingTime, averageTurnaroundTime,
+                contextSwitches);
+    }
 
-        // Calculate metrics for simulation results
-        double totalWaitingTime = 0;
-        for (int waitTime : waitingTimes.values()) {
-            totalWaitingTime += waitTime;
+    // Pulls processes from the arrival iterator one step ahead of the simulation clock
+    private static class StreamingState {
+        private final Iterator<Process> arrivals;
+        private final TimelineSink sink;
+        private final Deque<Process> readyQueue = new ArrayDeque<>();
+        private Process lookahead;
+        private int lastArrivalTime = Integer.MIN_VALUE;
+
+        StreamingState(Iterator<Process> arrivals, TimelineSink sink) {
+            this.arrivals = arrivals;
+            this.sink = sink;
         }
 
-        double averageWaitingTime = totalWaitingTime / waitingTimes.size();
+        boolean hasNextArrival() {
+            return lookahead != null || arrivals.hasNext();
+        }
 
-        double totalTurnaroundTime = 0;
-        for (int tat : turnaroundTimes.values()) {
-            totalTurnaroundTime += tat;
+        int nextArrivalTime() {
+            return peek().getArrivalTime();
         }
 
-        double averageTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
+        // Logs every process that has arrived by the given time and adds it to the ready queue
+        void admitArrivals(int time) {
+            while (hasNextArrival() && peek().getArrivalTime() <= time) {
+                Process p = lookahead;
+                lookahead = null;
+                sink.accept(new TimelineEvent(p.getArrivalTime(), p.getPid(), EventType.PROCESS_ARRIVAL,
+                        p.getBurstTime(), p.getPriority()));
+                readyQueue.add(p);
+            }
+        }
 
-        return new SimulationResult(timeline, averageWaitingTime, averageTurnaroundTime, contextSwitches,
-                completionTimes, waitingTimes,
-                turnaroundTimes);
+        private Process peek() {
+            if (lookahead == null) {
+                lookahead = arrivals.next();
+                if (lookahead.getArrivalTime() < lastArrivalTime) {
+                    throw new IllegalArgumentException("Processes must be in arrival order, P" + lookahead.getPid()
+                            + " arrives at " + lookahead.getArrivalTime() + " after t" + lastArrivalTime);
+                }
+                lastArrivalTime = lookahead.getArrivalTime();
+            }
+            return lookahead;
+        }
     }
 
     @Override
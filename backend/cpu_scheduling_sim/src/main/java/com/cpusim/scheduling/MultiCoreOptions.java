@@ -0,0 +1,72 @@
+// How a multi-core simulation spreads processes over its cores
+
+package com.cpusim.scheduling;
+
+public final class MultiCoreOptions {
+    // Every core has its own ready queue and per-core state, and placement and stealing scan all cores
+    public static final int MAX_CORES = 1024;
+
+    // Core an arriving process is queued on
+    public enum Placement {
+        // Core with the fewest running and waiting processes, lowest index on ties
+        LEAST_LOADED,
+        // Cores take turns in index order regardless of load
+        ROUND_ROBIN
+    }
+
+    // What happens when a core runs out of work
+    public enum Balancer {
+        // Processes stay on the core they were queued on
+        NONE,
+        // An idle core takes the next waiting process from the core with the most processes waiting
+        WORK_STEALING
+    }
+
+    private final int cores;
+    private final Placement placement;
+    private final Balancer balancer;
+    private final int stealThreshold;
+
+    /**
+     * @param stealThreshold Minimum number of waiting processes a core must have before an idle core
+     *                       steals from it. Only used with WORK_STEALING.
+     */
+    public MultiCoreOptions(int cores, Placement placement, Balancer balancer, int stealThreshold) {
+        if (cores < 1 || cores > MAX_CORES) {
+            throw new IllegalArgumentException("Cores must be between 1 and " + MAX_CORES + ", got " + cores);
+        }
+        if (stealThreshold < 1) {
+            throw new IllegalArgumentException("Steal threshold must be at least 1, got " + stealThreshold);
+        }
+        this.cores = cores;
+        this.placement = placement;
+        this.balancer = balancer;
+        this.stealThreshold = stealThreshold;
+    }
+
+    public MultiCoreOptions(int cores) {
+        this(cores, Placement.LEAST_LOADED, Balancer.WORK_STEALING, 1);
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public Placement getPlacement() {
+        return placement;
+    }
+
+    public Balancer getBalancer() {
+        return balancer;
+    }
+
+    public int getStealThreshold() {
+        return stealThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiCoreOptions{cores=" + cores + ", placement=" + placement + ", balancer=" + balancer
+                + ", stealThreshold=" + stealThreshold + '}';
+    }
+}
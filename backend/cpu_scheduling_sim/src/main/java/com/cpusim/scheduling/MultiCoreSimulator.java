@@ -0,0 +1,427 @@
+/*
+    Runs one of the scheduling policies on several simulated cores.
+    Every core has its own ready queue ordered by the policy. Arriving processes are placed on a core
+    according to MultiCoreOptions, and an optional work-stealing balancer lets idle cores take waiting
+    processes from the busiest core.
+    The simulation is event driven: the clock jumps straight to the next arrival or the next time a core's
+    slice ends, kept in a heap of core events, so the cost grows with the number of scheduling decisions and
+    not with simulated time or the number of idle cores.
+    With a single core every policy makes the same decisions as its single-core Scheduler.
+ */
+
+package com.cpusim.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.cpusim.model.CoreStats;
+import com.cpusim.model.GanttChart;
+import com.cpusim.model.GanttSegment;
+import com.cpusim.model.MultiCoreResult;
+import com.cpusim.model.ProcessMetrics;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.MultiCoreOptions.Balancer;
+import com.cpusim.scheduling.MultiCoreOptions.Placement;
+
+public final class MultiCoreSimulator {
+
+    private enum Policy {
+        FCFS, SJF, SRTF, PP, RR;
+
+        static Policy of(String algorithm) {
+            return switch (algorithm.toLowerCase()) {
+                case "fcfs" -> FCFS;
+                case "sjf" -> SJF;
+                case "srtf" -> SRTF;
+                case "pp", "priority" -> PP;
+                case "rr", "roundrobin" -> RR;
+                default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+            };
+        }
+
+        boolean isPreemptive() {
+            return this == SRTF || this == PP;
+        }
+    }
+
+    private final Policy policy;
+    private final int quantum;
+    private final MultiCoreOptions options;
+
+    /**
+     * @param algorithm Same algorithm names as the REST API (fcfs, sjf, srtf, pp, rr)
+     * @param quantum   Time quantum, only used for RR
+     */
+    public MultiCoreSimulator(String algorithm, int quantum, MultiCoreOptions options) {
+        this.policy = Policy.of(algorithm);
+        if (policy == Policy.RR && quantum < 1) {
+            throw new IllegalArgumentException("Quantum must be at least 1, got " + quantum);
+        }
+        this.quantum = quantum;
+        this.options = options;
+    }
+
+    public MultiCoreResult simulate(Workload workload, SimulationOptions recording) {
+        return new Run(workload, recording).simulate();
+    }
+
+    private final class Run {
+        private final Workload workload;
+        private final int n;
+        private final int cores;
+        private final boolean stealing;
+
+        // Per process, indexed by workload slot
+        private final int[] remainingBurstTimes;
+        private final long[] enqueueOrder; // FIFO order for FCFS and RR
+        private final int[] completionTimes; // null unless per-process metrics are recorded
+        private long enqueueCounter;
+
+        // Per core
+        private final ReadyHeap.SlotOrder order;
+        private final ReadyHeap[] readyQueues;
+        private final int[] runningSlot; // -1 when the core is not running anything
+        private final int[] runStart; // Start of the part of the current slice not yet accounted for
+        private final int[] runEnd; // When the current slice ends, by completion or quantum expiry
+        private final int[] lastSlot; // Last process the core ran, for context switch counting
+        private final boolean[] wasIdle;
+        private final long[] busyTime;
+        private final int[] contextSwitches;
+        private final int[] completedOnCore;
+        private final GanttChart[] gantt; // null unless the timeline is recorded
+
+        // Pending slice ends as (time << 32 | core). A preempted slice leaves a stale entry behind that is
+        // skipped when it reaches the top.
+        private final LongHeap events = new LongHeap();
+
+        // Cores whose state changed at the current time and need a dispatch decision
+        private final int[] dirtyCores;
+        private final boolean[] isDirty;
+        private int dirtyCount;
+
+        private int nextArrival;
+        private int nextPlacement;
+        private int idleCores;
+        private int totalQueued;
+        private boolean balanceNeeded;
+
+        private int completed;
+        private int steals;
+        private int makespan;
+        private long totalWaitingTime;
+        private long totalTurnaroundTime;
+
+        Run(Workload workload, SimulationOptions recording) {
+            this.workload = workload;
+            this.n = workload.size();
+            this.cores = options.getCores();
+            this.stealing = options.getBalancer() == Balancer.WORK_STEALING;
+
+            remainingBurstTimes = new int[n];
+            for (int i = 0; i < n; i++) {
+                remainingBurstTimes[i] = workload.burstTime(i);
+            }
+            enqueueOrder = new long[n];
+            completionTimes = recording.isRecordProcessMetrics() ? new int[n] : null;
+
+            order = switch (policy) {
+                case FCFS, RR -> (a, b) -> enqueueOrder[a] < enqueueOrder[b];
+                case SJF -> (a, b) -> workload.burstTime(a) != workload.burstTime(b)
+                        ? workload.burstTime(a) < workload.burstTime(b)
+                        : a < b;
+                case SRTF -> (a, b) -> remainingBurstTimes[a] != remainingBurstTimes[b]
+                        ? remainingBurstTimes[a] < remainingBurstTimes[b]
+                        : a < b;
+                case PP -> (a, b) -> workload.priority(a) != workload.priority(b)
+                        ? workload.priority(a) < workload.priority(b)
+                        : a < b;
+            };
+            readyQueues = new ReadyHeap[cores];
+            gantt = recording.isRecordTimeline() ? new GanttChart[cores] : null;
+            for (int c = 0; c < cores; c++) {
+                readyQueues[c] = new ReadyHeap(16, order);
+                if (gantt != null) {
+                    gantt[c] = new GanttChart(workload, 16);
+                }
+            }
+            runningSlot = new int[cores];
+            Arrays.fill(runningSlot, -1);
+            lastSlot = new int[cores];
+            Arrays.fill(lastSlot, -1);
+            runStart = new int[cores];
+            runEnd = new int[cores];
+            wasIdle = new boolean[cores];
+            busyTime = new long[cores];
+            contextSwitches = new int[cores];
+            completedOnCore = new int[cores];
+            dirtyCores = new int[cores];
+            isDirty = new boolean[cores];
+            idleCores = cores;
+        }
+
+        MultiCoreResult simulate() {
+            while (completed < n) {
+                discardStaleEvents();
+                int eventTime = events.isEmpty() ? Integer.MAX_VALUE : (int) (events.peek() >>> 32);
+                int arrivalTime = nextArrival < n ? workload.arrivalTime(nextArrival) : Integer.MAX_VALUE;
+                int time = Math.min(eventTime, arrivalTime);
+
+                // Arrivals are queued before slices ending at the same time are requeued, like on one core
+                while (nextArrival < n && workload.arrivalTime(nextArrival) <= time) {
+                    place(nextArrival++);
+                }
+
+                while (!events.isEmpty() && (int) (events.peek() >>> 32) == time) {
+                    int core = (int) events.poll();
+                    if (runningSlot[core] != -1 && runEnd[core] == time) {
+                        endSlice(core, time);
+                    }
+                }
+
+                if (stealing && balanceNeeded && totalQueued > 0 && idleCores > 0) {
+                    balance();
+                }
+                balanceNeeded = false;
+
+                for (int i = 0; i < dirtyCount; i++) {
+                    dispatch(dirtyCores[i], time);
+                }
+                for (int i = 0; i < dirtyCount; i++) {
+                    isDirty[dirtyCores[i]] = false;
+                }
+                dirtyCount = 0;
+            }
+            return result();
+        }
+
+        private void place(int slot) {
+            int core;
+            if (options.getPlacement() == Placement.ROUND_ROBIN) {
+                core = nextPlacement;
+                nextPlacement = (nextPlacement + 1) % cores;
+            } else {
+                core = 0;
+                int lowestLoad = Integer.MAX_VALUE;
+                for (int c = 0; c < cores; c++) {
+                    int load = readyQueues[c].size() + (runningSlot[c] != -1 ? 1 : 0);
+                    if (load < lowestLoad) {
+                        lowestLoad = load;
+                        core = c;
+                    }
+                }
+            }
+            enqueue(core, slot);
+        }
+
+        private void enqueue(int core, int slot) {
+            enqueueOrder[slot] = enqueueCounter++;
+            readyQueues[core].add(slot);
+            totalQueued++;
+            balanceNeeded = true;
+            markDirty(core);
+        }
+
+        private void markDirty(int core) {
+            if (!isDirty[core]) {
+                isDirty[core] = true;
+                dirtyCores[dirtyCount++] = core;
+            }
+        }
+
+        // Accounts for the time the running process has spent on the core since runStart
+        private void account(int core, int time) {
+            int slot = runningSlot[core];
+            int elapsed = time - runStart[core];
+            remainingBurstTimes[slot] -= elapsed;
+            busyTime[core] += elapsed;
+            if (gantt != null) {
+                gantt[core].run(slot, runStart[core], time);
+            }
+            runStart[core] = time;
+        }
+
+        // Takes the running process off the core
+        private int release(int core) {
+            int slot = runningSlot[core];
+            runningSlot[core] = -1;
+            idleCores++;
+            markDirty(core);
+            return slot;
+        }
+
+        private void endSlice(int core, int time) {
+            account(core, time);
+            int slot = release(core);
+            if (remainingBurstTimes[slot] == 0) {
+                finish(core, slot, time);
+            } else {
+                // Round Robin quantum expired, back to the end of this core's queue
+                enqueue(core, slot);
+            }
+            balanceNeeded = true;
+        }
+
+        private void finish(int core, int slot, int time) {
+            completed++;
+            completedOnCore[core]++;
+            makespan = Math.max(makespan, time);
+            if (completionTimes != null) {
+                completionTimes[slot] = time;
+            }
+            int turnaroundTime = time - workload.arrivalTime(slot);
+            totalTurnaroundTime += turnaroundTime;
+            totalWaitingTime += turnaroundTime - workload.burstTime(slot);
+        }
+
+        // Idle cores without queued work take the next waiting process of the core with the most waiting
+        private void balance() {
+            for (int core = 0; core < cores && totalQueued > 0; core++) {
+                if (runningSlot[core] != -1 || !readyQueues[core].isEmpty()) {
+                    continue;
+                }
+                int victim = -1;
+                int victimWaiting = options.getStealThreshold() - 1;
+                for (int c = 0; c < cores; c++) {
+                    int waiting = waiting(c);
+                    if (waiting > victimWaiting) {
+                        victimWaiting = waiting;
+                        victim = c;
+                    }
+                }
+                if (victim == -1) {
+                    return;
+                }
+                int slot = readyQueues[victim].poll();
+                totalQueued--;
+                enqueue(core, slot);
+                steals++;
+            }
+        }
+
+        // Processes queued on the core that it cannot start now. A core that is not running anything is
+        // about to dispatch its first one itself, so that one is not up for stealing.
+        private int waiting(int core) {
+            int queued = readyQueues[core].size();
+            return runningSlot[core] == -1 ? Math.max(0, queued - 1) : queued;
+        }
+
+        private void dispatch(int core, int time) {
+            ReadyHeap readyQueue = readyQueues[core];
+            if (runningSlot[core] != -1) {
+                if (!policy.isPreemptive() || readyQueue.isEmpty()) {
+                    return;
+                }
+                // Bring the running process's remaining time up to date before comparing it
+                account(core, time);
+                if (!order.before(readyQueue.peek(), runningSlot[core])) {
+                    return;
+                }
+                enqueue(core, release(core));
+            }
+
+            if (readyQueue.isEmpty()) {
+                wasIdle[core] = true;
+                return;
+            }
+
+            int slot = readyQueue.poll();
+            totalQueued--;
+
+            // Context switch only when switching between different processes (not from idle)
+            if (lastSlot[core] != -1 && !wasIdle[core] && lastSlot[core] != slot) {
+                contextSwitches[core]++;
+            }
+            wasIdle[core] = false;
+            lastSlot[core] = slot;
+
+            runningSlot[core] = slot;
+            idleCores--;
+            runStart[core] = time;
+            int sliceLength = policy == Policy.RR ? Math.min(quantum, remainingBurstTimes[slot])
+                    : remainingBurstTimes[slot];
+            runEnd[core] = time + sliceLength;
+            events.add(((long) runEnd[core] << 32) | core);
+        }
+
+        private void discardStaleEvents() {
+            while (!events.isEmpty()) {
+                long event = events.peek();
+                int core = (int) event;
+                if (runningSlot[core] != -1 && runEnd[core] == (int) (event >>> 32)) {
+                    return;
+                }
+                events.poll();
+            }
+        }
+
+        private MultiCoreResult result() {
+            int totalContextSwitches = 0;
+            List<CoreStats> coreStats = new ArrayList<>(cores);
+            for (int c = 0; c < cores; c++) {
+                totalContextSwitches += contextSwitches[c];
+                double utilization = makespan > 0 ? (double) busyTime[c] / makespan : 0;
+                List<GanttSegment> segments = gantt != null ? gantt[c].asList() : List.of();
+                coreStats.add(new CoreStats(c, busyTime[c], utilization, contextSwitches[c], completedOnCore[c],
+                        segments));
+            }
+            ProcessMetrics processMetrics = completionTimes != null
+                    ? new ProcessMetrics(workload, completionTimes)
+                    : null;
+            return new MultiCoreResult(makespan, (double) totalWaitingTime / n, (double) totalTurnaroundTime / n,
+                    totalContextSwitches, steals, coreStats, processMetrics);
+        }
+    }
+
+    // Binary min-heap of primitive longs
+    private static final class LongHeap {
+        private long[] heap = new long[64];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void add(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long poll() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+    }
+}
@@ -6,127 +6,149 @@
 
 package com.cpusim.scheduling;
 
-import java.util.*;
-
-import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
-import com.cpusim.model.TimelineEvent;
-import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.model.Workload;
 
 public class PPScheduler implements Scheduler {
 
     @Override
-    public SimulationResult schedule(List<Process> processes) {
-        List<Process> processList = new ArrayList<>(processes);
-
-        // Sort by arrival time first for tie breaking
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        List<TimelineEvent> timeline = new ArrayList<>();
-        Map<Integer, Integer> completionTimes = new HashMap<>();
-        Map<Integer, Integer> turnaroundTimes = new HashMap<>();
-        Map<Integer, Integer> waitingTimes = new HashMap<>();
-        Set<Integer> startedProcesses = new HashSet<>();
-
-        // Log all process arrivals
-        for (Process p : processList) {
-            timeline.add(new TimelineEvent(p.getArrivalTime(), p.getPid(), EventType.PROCESS_ARRIVAL, p.getBurstTime(),
-                    p.getPriority()));
-        }
+    public SimulationResult schedule(Workload workload, SimulationOptions options) {
+        SimulationRecorder recorder = new SimulationRecorder(workload, options);
+        return SchedulingRun.runToEnd(new Run(workload, recorder), recorder);
+    }
+
+    @Override
+    public SchedulingCursor cursor(Workload workload) {
+        return new SchedulingCursor(workload, recorder -> new Run(workload, recorder));
+    }
+
+    private static class Run implements SchedulingRun {
+        private final Workload workload;
+        private final SimulationRecorder recorder;
 
-        int currentTime = 0;
-        int contextSwitches = 0;
-        int completed = 0;
+        private int currentTime = 0;
 
-        // process -> remaining burst time
-        Map<Process, Integer> remainingBurstTimes = new HashMap<>();
-        for (Process p : processList) {
-            remainingBurstTimes.put(p, p.getBurstTime());
+        // Remaining burst time per slot (index into the arrival-sorted workload)
+        private final int[] remainingBurstTimes;
+        private final boolean[] started;
+
+        private final ReadyHeap readyHeap;
+        private int nextArrival = 0; // Next slot that has not arrived yet
+
+        private int currentSlot = -1;
+        private boolean wasIdle = false;
+
+        Run(Workload workload, SimulationRecorder recorder) {
+            this.workload = workload;
+            this.recorder = recorder;
+
+            int n = workload.size();
+            int[] remainingBurstTimes = new int[n];
+            for (int i = 0; i < n; i++) {
+                remainingBurstTimes[i] = workload.burstTime(i);
+            }
+            this.remainingBurstTimes = remainingBurstTimes;
+            this.started = new boolean[n];
+
+            // Ready processes ordered by highest priority (lowest priority number), arrival order (slot) as
+            // tiebreaker. Keys never change, so the top can only be displaced when a process arrives.
+            this.readyHeap = new ReadyHeap(n, (a, b) -> workload.priority(a) != workload.priority(b)
+                    ? workload.priority(a) < workload.priority(b)
+                    : a < b);
         }
 
-        Process currentProcess = null;
-        boolean wasIdle = false;
+        @Override
+        public boolean isDone() {
+            return recorder.getCompleted() == workload.size();
+        }
 
-        while (completed < processList.size()) {
-            List<Process> readyProcesses = new ArrayList<>();
-            for (Process p : processList) {
-                if (p.getArrivalTime() <= currentTime && remainingBurstTimes.get(p) > 0) {
-                    readyProcesses.add(p);
-                }
+        @Override
+        public int time() {
+            return currentTime;
+        }
+
+        @Override
+        public boolean step(int limit) {
+            int n = workload.size();
+            while (nextArrival < n && workload.arrivalTime(nextArrival) <= currentTime) {
+                readyHeap.add(nextArrival++);
             }
 
-            // CPU idles when no processes are ready
-            if (readyProcesses.isEmpty()) {
+            // CPU idles when no processes are ready, jump straight to the next arrival
+            if (readyHeap.isEmpty()) {
                 // Only log idle event when CPU first becomes idle
                 if (!wasIdle) {
-                    timeline.add(new TimelineEvent(currentTime, 0, EventType.CPU_IDLE));
+                    recorder.idle(currentTime);
                     wasIdle = true;
                 }
-                currentTime++;
-                continue;
+                int arrivalTime = workload.arrivalTime(nextArrival);
+                if (arrivalTime > limit) {
+                    currentTime = limit;
+                    return false;
+                }
+                currentTime = arrivalTime;
+                return true;
             }
 
-            // Select process with highest priority (lowest priority number)
-            // arrival time is tiebreaker
-            readyProcesses.sort(Comparator.comparingInt(Process::getPriority)
-                    .thenComparingInt(Process::getArrivalTime));
-
-            Process nextProcess = readyProcesses.get(0);
+            int nextSlot = readyHeap.peek();
 
             // Check if we need to switch processes
-            if (currentProcess == null || currentProcess.getPid() != nextProcess.getPid()) {
+            if (currentSlot != nextSlot) {
                 // Context switch only when switching between different processes (not from
                 // idle)
-                if (currentProcess != null && !wasIdle) {
-                    timeline.add(new TimelineEvent(currentTime, nextProcess.getPid(), EventType.CONTEXT_SWITCH,
-                            remainingBurstTimes.get(nextProcess), nextProcess.getPriority()));
-                    contextSwitches++;
+                if (currentSlot != -1 && !wasIdle) {
+                    recorder.contextSwitch(currentTime, nextSlot, remainingBurstTimes[nextSlot]);
                 }
 
-                currentProcess = nextProcess;
+                currentSlot = nextSlot;
 
                 // If this process has not started before, log a start event
-                if (!startedProcesses.contains(currentProcess.getPid())) {
-                    timeline.add(new TimelineEvent(currentTime, currentProcess.getPid(), EventType.PROCESS_START,
-                            remainingBurstTimes.get(currentProcess), currentProcess.getPriority()));
-                    startedProcesses.add(currentProcess.getPid());
+                if (!started[nextSlot]) {
+                    recorder.start(currentTime, nextSlot, remainingBurstTimes[nextSlot]);
+                    started[nextSlot] = true;
                 }
 
                 wasIdle = false;
             }
 
-            // Execute process for one time unit
-            remainingBurstTimes.put(currentProcess, remainingBurstTimes.get(currentProcess) - 1);
-            currentTime++;
+            // Run until the process finishes or the next arrival, where preemption is checked again
+            int runTime = remainingBurstTimes[currentSlot];
+            if (nextArrival < n) {
+                runTime = Math.min(runTime, workload.arrivalTime(nextArrival) - currentTime);
+            }
+            boolean limited = runTime > limit - currentTime;
+            if (limited) {
+                runTime = limit - currentTime;
+            }
+            if (runTime > 0) {
+                remainingBurstTimes[currentSlot] -= runTime;
+                recorder.run(currentSlot, currentTime, currentTime + runTime);
+                currentTime += runTime;
+            }
 
             // Check if process finished
-            if (remainingBurstTimes.get(currentProcess) == 0) {
-                timeline.add(new TimelineEvent(currentTime, currentProcess.getPid(), EventType.PROCESS_FINISH));
-                completionTimes.put(currentProcess.getPid(), currentTime);
-                completed++;
+            if (remainingBurstTimes[currentSlot] == 0) {
+                readyHeap.poll();
+                recorder.finish(currentTime, currentSlot);
             }
+            return !limited;
         }
 
-        // Sort timeline by time, then by event priority
-        timeline.sort(Comparator.comparingInt(TimelineEvent::getTime)
-                .thenComparingInt(e -> getEventPriority(e.getType())));
-
-        // Calculate simulation result metrics
-        for (Process p : processList) {
-            int turnaroundTime = completionTimes.get(p.getPid()) - p.getArrivalTime();
-            int waitingTime = turnaroundTime - p.getBurstTime();
-            waitingTimes.put(p.getPid(), waitingTime);
-            turnaroundTimes.put(p.getPid(), turnaroundTime);
+        @Override
+        public int runningSlot() {
+            return !wasIdle && currentSlot != -1 && remainingBurstTimes[currentSlot] > 0 ? currentSlot : -1;
         }
 
-        double totalWaitingTime = waitingTimes.values().stream().mapToInt(Integer::intValue).sum();
-        double averageWaitingTime = totalWaitingTime / waitingTimes.size();
-
-        double totalTurnaroundTime = turnaroundTimes.values().stream().mapToInt(Integer::intValue).sum();
-        double averageTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
+        @Override
+        public int runningBurstRemaining() {
+            int slot = runningSlot();
+            return slot != -1 ? remainingBurstTimes[slot] : 0;
+        }
 
-        return new SimulationResult(timeline, averageWaitingTime, averageTurnaroundTime, contextSwitches,
-                completionTimes, waitingTimes, turnaroundTimes);
+        @Override
+        public int[] readySlots() {
+            return readyHeap.toSortedArray(nextArrival, workload.arrivedBy(nextArrival, currentTime), runningSlot());
+        }
     }
 
     @Override
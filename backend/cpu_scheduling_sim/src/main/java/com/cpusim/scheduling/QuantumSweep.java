@@ -0,0 +1,198 @@
+/*
+    Runs Round Robin over a range of quanta in parallel to find a good quantum for a workload.
+    Every run is metrics-only and independent, so the quanta are split across a ForkJoinPool.
+    The refining sweep starts from a coarse grid and keeps halving the step around the best quantum found so
+    far instead of evaluating every integer in the range.
+    Every evaluated quantum is a full simulation, so a sweep is limited to MAX_POINTS quanta; plannedQuanta
+    lets callers price a sweep before running it.
+ */
+
+package com.cpusim.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.cpusim.model.QuantumSweepPoint;
+import com.cpusim.model.QuantumSweepResult;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+
+public final class QuantumSweep {
+    // Quanta a full sweep may cover, and coarse points a refining sweep may start from
+    public static final int MAX_POINTS = 10_000;
+
+    private final Workload workload;
+    private final ForkJoinPool pool;
+
+    public QuantumSweep(Workload workload) {
+        this(workload, ForkJoinPool.commonPool());
+    }
+
+    public QuantumSweep(Workload workload, ForkJoinPool pool) {
+        this.workload = workload;
+        this.pool = pool;
+    }
+
+    /**
+     * Evaluates every quantum from minQuantum to maxQuantum (inclusive).
+     */
+    public QuantumSweepResult sweep(int minQuantum, int maxQuantum) {
+        long start = System.nanoTime();
+        Map<Integer, QuantumSweepPoint> points = new TreeMap<>();
+        evaluate(plannedQuanta(minQuantum, maxQuantum, false, 0), points);
+        return result(points, start);
+    }
+
+    /**
+     * Evaluates a grid of about coarsePoints quanta across the range, then repeatedly halves the step and
+     * evaluates the neighbourhood of the best quantum so far until the step is 1. Much cheaper than a full
+     * sweep on wide ranges, but assumes the best region shows up on the coarse grid: a narrow dip between
+     * two coarse points can be missed.
+     */
+    public QuantumSweepResult refine(int minQuantum, int maxQuantum, int coarsePoints) {
+        checkRange(minQuantum, maxQuantum, true, coarsePoints);
+        long start = System.nanoTime();
+        Map<Integer, QuantumSweepPoint> points = new TreeMap<>();
+
+        int low = minQuantum;
+        int high = maxQuantum;
+        int step = coarseStep(minQuantum, maxQuantum, coarsePoints);
+        while (true) {
+            List<Integer> quanta = new ArrayList<>();
+            for (long q = low; q <= high; q += step) {
+                quanta.add((int) q);
+            }
+            quanta.add(high);
+            evaluate(quanta.stream().distinct().filter(q -> !points.containsKey(q)).mapToInt(Integer::intValue)
+                    .toArray(), points);
+
+            if (step == 1) {
+                break;
+            }
+            int best = best(points).getQuantum();
+            low = Math.max(minQuantum, best - step);
+            high = Math.min(maxQuantum, best + step);
+            step = Math.max(1, step / 2);
+        }
+        return result(points, start);
+    }
+
+    /**
+     * Quanta a sweep of the range evaluates at most: every one for a full sweep. A refining sweep evaluates the
+     * coarse grid and then up to five new quanta per halving of the step; which ones depends on the results,
+     * so they are counted as minQuantum, where runs take the most slices.
+     */
+    public static int[] plannedQuanta(int minQuantum, int maxQuantum, boolean refine, int coarsePoints) {
+        checkRange(minQuantum, maxQuantum, refine, coarsePoints);
+        if (!refine) {
+            int[] quanta = new int[maxQuantum - minQuantum + 1];
+            for (int i = 0; i < quanta.length; i++) {
+                quanta[i] = minQuantum + i;
+            }
+            return quanta;
+        }
+        int step = coarseStep(minQuantum, maxQuantum, coarsePoints);
+        List<Integer> quanta = new ArrayList<>();
+        for (long q = minQuantum; q <= maxQuantum; q += step) {
+            quanta.add((int) q);
+        }
+        quanta.add(maxQuantum);
+        for (; step > 1; step /= 2) {
+            for (int i = 0; i < 5; i++) {
+                quanta.add(minQuantum);
+            }
+        }
+        return quanta.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int coarseStep(int minQuantum, int maxQuantum, int coarsePoints) {
+        return Math.max(1, (int) Math.ceil((double) ((long) maxQuantum - minQuantum) / (coarsePoints - 1)));
+    }
+
+    private static void checkRange(int minQuantum, int maxQuantum, boolean refine, int coarsePoints) {
+        // A zero quantum never makes progress
+        if (minQuantum < 1) {
+            throw new IllegalArgumentException("Quantum must be at least 1, got " + minQuantum);
+        }
+        if (maxQuantum < minQuantum) {
+            throw new IllegalArgumentException("Invalid quantum range [" + minQuantum + ", " + maxQuantum + "]");
+        }
+        if (refine && (coarsePoints < 2 || coarsePoints > MAX_POINTS)) {
+            throw new IllegalArgumentException("Coarse points must be between 2 and " + MAX_POINTS + ", got "
+                    + coarsePoints);
+        }
+        // In long, the range can be wider than an int
+        if (!refine && (long) maxQuantum - minQuantum + 1 > MAX_POINTS) {
+            throw new IllegalArgumentException("A sweep covers at most " + MAX_POINTS + " quanta, got ["
+                    + minQuantum + ", " + maxQuantum + "]; use refine for wider ranges");
+        }
+    }
+
+    // Runs the given quanta in parallel and adds their points to the map
+    private void evaluate(int[] quanta, Map<Integer, QuantumSweepPoint> points) {
+        QuantumSweepPoint[] results = new QuantumSweepPoint[quanta.length];
+        pool.invoke(new SweepTask(workload, quanta, results, 0, quanta.length));
+        for (QuantumSweepPoint point : results) {
+            points.put(point.getQuantum(), point);
+        }
+    }
+
+    private static QuantumSweepResult result(Map<Integer, QuantumSweepPoint> points, long start) {
+        return new QuantumSweepResult(new ArrayList<>(points.values()), best(points).getQuantum(),
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    // Lowest average waiting time, then fewest context switches, then smallest quantum
+    private static QuantumSweepPoint best(Map<Integer, QuantumSweepPoint> points) {
+        QuantumSweepPoint best = null;
+        for (QuantumSweepPoint point : points.values()) {
+            if (best == null || point.getAverageWaitingTime() < best.getAverageWaitingTime()
+                    || (point.getAverageWaitingTime() == best.getAverageWaitingTime()
+                            && point.getContextSwitches() < best.getContextSwitches())) {
+                best = point;
+            }
+        }
+        return best;
+    }
+
+    // Splits the quanta in halves until each task runs a single simulation
+    // ForkJoin tasks are Serializable, but a sweep is never serialized
+    private static class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Workload workload;
+        private final int[] quanta;
+        private final transient QuantumSweepPoint[] results;
+        private final int from;
+        private final int to;
+
+        SweepTask(Workload workload, int[] quanta, QuantumSweepPoint[] results, int from, int to) {
+            this.workload = workload;
+            this.quanta = quanta;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SweepTask(workload, quanta, results, from, mid),
+                        new SweepTask(workload, quanta, results, mid, to));
+                return;
+            }
+            if (to == from) {
+                return;
+            }
+            int quantum = quanta[from];
+            SimulationResult result = new RRScheduler(quantum).schedule(workload, SimulationOptions.METRICS_ONLY);
+            results[from] = new QuantumSweepPoint(quantum, result.getAverageWaitingTime(),
+                    result.getAverageTurnaroundTime(), result.getTotalContextSwitches());
+        }
+    }
+}
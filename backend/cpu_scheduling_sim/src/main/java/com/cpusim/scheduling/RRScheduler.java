@@ -6,12 +6,8 @@
 
 package com.cpusim.scheduling;
 
-import java.util.*;
-
-import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
-import com.cpusim.model.TimelineEvent;
-import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.model.Workload;
 
 public class RRScheduler implements Scheduler {
 
@@ -31,140 +27,168 @@ public class RRScheduler implements Scheduler {
     }
 
     @Override
-    public SimulationResult schedule(List<Process> processes) {
-        List<Process> processList = new ArrayList<>(processes);
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        List<TimelineEvent> timeline = new ArrayList<>();
-        Map<Integer, Integer> completionTimes = new HashMap<>();
-        Map<Integer, Integer> waitingTimes = new HashMap<>();
-        Map<Integer, Integer> turnaroundTimes = new HashMap<>();
-        Set<Integer> startedProcesses = new HashSet<>();
-
-        // Log all process arrivals
-        for (Process p : processList) {
-            timeline.add(new TimelineEvent(p.getArrivalTime(), p.getPid(), EventType.PROCESS_ARRIVAL, p.getBurstTime(),
-                    p.getPriority()));
+    public SimulationResult schedule(Workload workload, SimulationOptions options) {
+        SimulationRecorder recorder = new SimulationRecorder(workload, options);
+        return SchedulingRun.runToEnd(new Run(workload, recorder, quantum), recorder);
+    }
+
+    @Override
+    public SchedulingCursor cursor(Workload workload) {
+        int quantum = this.quantum;
+        return new SchedulingCursor(workload, recorder -> new Run(workload, recorder, quantum));
+    }
+
+    private static class Run implements SchedulingRun {
+        private final Workload workload;
+        private final SimulationRecorder recorder;
+        private final int quantum;
+
+        private int currentTime = 0;
+
+        // Remaining burst time per slot (index into the arrival-sorted workload)
+        private final int[] remainingBurstTimes;
+        private final boolean[] started;
+
+        // Ring buffer of slots to maintain FIFO order. A process is never queued twice and the running
+        // process is not in the queue, so n entries are always enough.
+        private final int[] readyQueue;
+        private int head = 0;
+        private int queued = 0;
+        private int nextArrival = 0; // Next slot that has not been added to the queue yet
+
+        private int currentSlot = -1;
+        private boolean wasIdle = false;
+        private boolean inSlice = false; // The current process holds the CPU until sliceEnd
+        private int sliceEnd;
+
+        Run(Workload workload, SimulationRecorder recorder, int quantum) {
+            this.workload = workload;
+            this.recorder = recorder;
+            this.quantum = quantum;
+
+            int n = workload.size();
+            int[] remainingBurstTimes = new int[n];
+            for (int i = 0; i < n; i++) {
+                remainingBurstTimes[i] = workload.burstTime(i);
+            }
+            this.remainingBurstTimes = remainingBurstTimes;
+            this.started = new boolean[n];
+            this.readyQueue = new int[Math.max(n, 1)];
         }
 
-        int currentTime = 0;
-        int contextSwitches = 0;
-        int completed = 0;
+        @Override
+        public boolean isDone() {
+            return recorder.getCompleted() == workload.size();
+        }
 
-        // Track remaining burst time for each process
-        Map<Process, Integer> remainingBurstTimes = new HashMap<>();
-        for (Process p : processList) {
-            remainingBurstTimes.put(p, p.getBurstTime());
+        @Override
+        public int time() {
+            return currentTime;
         }
 
-        // Use a queue to maintain FIFO order
-        Queue<Process> readyQueue = new LinkedList<>();
-        // Track processes that are already in the queue, use a set to avoid duplicates
-        Set<Process> inQueue = new HashSet<>();
-        int processIndex = 0; // Used to track which processes have been added to the queue
-
-        Process currentProcess = null;
-        boolean wasIdle = false;
-
-        while (completed < processList.size()) {
-            while (processIndex < processList.size() &&
-                    processList.get(processIndex).getArrivalTime() <= currentTime) {
-                Process p = processList.get(processIndex);
-                if (!inQueue.contains(p) && remainingBurstTimes.get(p) > 0) {
-                    readyQueue.add(p);
-                    inQueue.add(p);
+        @Override
+        public boolean step(int limit) {
+            if (inSlice) {
+                int end = Math.min(sliceEnd, limit);
+                remainingBurstTimes[currentSlot] -= end - currentTime;
+                currentTime = end;
+                if (sliceEnd > limit) {
+                    return false;
+                }
+                inSlice = false;
+
+                // Processes that arrived during the slice join the queue ahead of the preempted process
+                enqueueArrivals();
+
+                // Check if process finished and add back to ready queue if not
+                if (remainingBurstTimes[currentSlot] == 0) {
+                    recorder.finish(currentTime, currentSlot);
+                } else {
+                    readyQueue[(head + queued++) % readyQueue.length] = currentSlot;
                 }
-                processIndex++;
+                return true;
             }
 
-            // If no process is ready, CPU is idle
-            if (readyQueue.isEmpty()) {
+            // Add every process that has arrived by now
+            enqueueArrivals();
+
+            // If no process is ready, CPU is idle until the next arrival
+            if (queued == 0) {
                 // Only log idle event when CPU first becomes idle
                 if (!wasIdle) {
-                    timeline.add(new TimelineEvent(currentTime, 0, EventType.CPU_IDLE));
+                    recorder.idle(currentTime);
                     wasIdle = true;
                 }
-                currentTime++;
-                continue;
+                int arrivalTime = workload.arrivalTime(nextArrival);
+                if (arrivalTime > limit) {
+                    currentTime = limit;
+                    return false;
+                }
+                currentTime = arrivalTime;
+                return true;
             }
 
             // Get next process from ready queue
-            Process nextProcess = readyQueue.poll();
-            inQueue.remove(nextProcess);
+            int nextSlot = readyQueue[head];
+            head = (head + 1) % readyQueue.length;
+            queued--;
 
             // Check if we need to switch processes
-            if (currentProcess == null || currentProcess.getPid() != nextProcess.getPid()) {
+            if (currentSlot != nextSlot) {
                 // Context switch only when switching between different processes (not from
                 // idle)
-                if (currentProcess != null && !wasIdle) {
-                    timeline.add(new TimelineEvent(currentTime, nextProcess.getPid(), EventType.CONTEXT_SWITCH,
-                            remainingBurstTimes.get(nextProcess), nextProcess.getPriority()));
-                    contextSwitches++;
+                if (currentSlot != -1 && !wasIdle) {
+                    recorder.contextSwitch(currentTime, nextSlot, remainingBurstTimes[nextSlot]);
                 }
 
-                currentProcess = nextProcess;
+                currentSlot = nextSlot;
 
                 // Only log start event if this process hasn't started before
-                if (!startedProcesses.contains(currentProcess.getPid())) {
-                    timeline.add(new TimelineEvent(currentTime, currentProcess.getPid(), EventType.PROCESS_START,
-                            remainingBurstTimes.get(currentProcess), currentProcess.getPriority()));
-                    startedProcesses.add(currentProcess.getPid());
+                if (!started[nextSlot]) {
+                    recorder.start(currentTime, nextSlot, remainingBurstTimes[nextSlot]);
+                    started[nextSlot] = true;
                 }
 
                 wasIdle = false;
             }
 
-            // Execute for quantum time or until process completes
-            int timeToExecute = Math.min(quantum, remainingBurstTimes.get(currentProcess));
-
-            for (int i = 0; i < timeToExecute; i++) {
-                remainingBurstTimes.put(currentProcess, remainingBurstTimes.get(currentProcess) - 1);
-                currentTime++;
-
-                // Add newly arrived processes during execution
-                while (processIndex < processList.size() &&
-                        processList.get(processIndex).getArrivalTime() <= currentTime) {
-                    Process p = processList.get(processIndex);
-                    if (!inQueue.contains(p) && remainingBurstTimes.get(p) > 0 &&
-                            p.getPid() != currentProcess.getPid()) {
-                        readyQueue.add(p);
-                        inQueue.add(p);
-                    }
-                    processIndex++;
-                }
-            }
+            // Execute a whole slice: quantum time or until process completes
+            sliceEnd = currentTime + Math.min(quantum, remainingBurstTimes[currentSlot]);
+            recorder.run(currentSlot, currentTime, sliceEnd);
+            inSlice = true;
+            return true;
+        }
 
-            // Check if process finished and add back to ready queue if not
-            if (remainingBurstTimes.get(currentProcess) == 0) {
-                timeline.add(new TimelineEvent(currentTime, currentProcess.getPid(), EventType.PROCESS_FINISH));
-                completionTimes.put(currentProcess.getPid(), currentTime);
-                completed++;
-            } else {
-                readyQueue.add(currentProcess);
-                inQueue.add(currentProcess);
+        private void enqueueArrivals() {
+            int arrivedUpTo = workload.arrivedBy(nextArrival, currentTime);
+            while (nextArrival < arrivedUpTo) {
+                readyQueue[(head + queued++) % readyQueue.length] = nextArrival++;
             }
         }
 
-        // Sort timeline by time, then by event priority
-        timeline.sort(Comparator.comparingInt(TimelineEvent::getTime)
-                .thenComparingInt(e -> getEventPriority(e.getType())));
-
-        // Calculate metrics for simulation results
-        for (Process p : processList) {
-            int turnaroundTime = completionTimes.get(p.getPid()) - p.getArrivalTime();
-            int waitingTime = turnaroundTime - p.getBurstTime();
-            waitingTimes.put(p.getPid(), waitingTime);
-            turnaroundTimes.put(p.getPid(), turnaroundTime);
+        @Override
+        public int runningSlot() {
+            return inSlice ? currentSlot : -1;
         }
 
-        double totalWaitingTime = waitingTimes.values().stream().mapToInt(Integer::intValue).sum();
-        double averageWaitingTime = totalWaitingTime / waitingTimes.size();
-
-        double totalTurnaroundTime = turnaroundTimes.values().stream().mapToInt(Integer::intValue).sum();
-        double averageTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
+        @Override
+        public int runningBurstRemaining() {
+            return inSlice ? remainingBurstTimes[currentSlot] : 0;
+        }
 
-        return new SimulationResult(timeline, averageWaitingTime, averageTurnaroundTime, contextSwitches,
-                completionTimes, waitingTimes, turnaroundTimes);
+        @Override
+        public int[] readySlots() {
+            // Processes that arrived during the current slice are queued when it ends
+            int arrived = workload.arrivedBy(nextArrival, currentTime);
+            int[] slots = new int[queued + arrived - nextArrival];
+            for (int i = 0; i < queued; i++) {
+                slots[i] = readyQueue[(head + i) % readyQueue.length];
+            }
+            for (int i = queued; i < slots.length; i++) {
+                slots[i] = nextArrival + i - queued;
+            }
+            return slots;
+        }
     }
 
     @Override
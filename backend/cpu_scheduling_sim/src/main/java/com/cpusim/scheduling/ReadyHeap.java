@@ -0,0 +1,114 @@
+/*
+    Binary min-heap of process slots used as a ready queue by the heap based schedulers.
+    A slot is the index of a process in the arrival-sorted process list, so the heap stores plain ints
+    and the scheduler decides the ordering through a SlotOrder.
+ */
+
+package com.cpusim.scheduling;
+
+import java.util.Arrays;
+
+final class ReadyHeap {
+
+    // Returns true if slot a should be scheduled before slot b
+    @FunctionalInterface
+    interface SlotOrder {
+        boolean before(int a, int b);
+    }
+
+    private final SlotOrder order;
+    private int[] heap;
+    private int size;
+
+    ReadyHeap(int capacity, SlotOrder order) {
+        this.heap = new int[Math.max(capacity, 1)];
+        this.order = order;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int slot) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = slot;
+        siftUp(size++);
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    int poll() {
+        int top = heap[0];
+        heap[0] = heap[--size];
+        if (size > 0) {
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Slots in the order they would be polled, leaving the heap untouched. Slots fromSlot to toSlot - 1
+     * are included as if they had been added, excludedSlot (e.g. the running process) is left out.
+     */
+    int[] toSortedArray(int fromSlot, int toSlot, int excludedSlot) {
+        ReadyHeap copy = new ReadyHeap(size + toSlot - fromSlot, order);
+        System.arraycopy(heap, 0, copy.heap, 0, size);
+        copy.size = size;
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            copy.add(slot);
+        }
+        int[] sorted = new int[copy.size];
+        int count = 0;
+        while (!copy.isEmpty()) {
+            int slot = copy.poll();
+            if (slot != excludedSlot) {
+                sorted[count++] = slot;
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    // Restores heap order after the key of the top slot has decreased or increased
+    void topChanged() {
+        siftDown(0);
+    }
+
+    private void siftUp(int i) {
+        int slot = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!order.before(slot, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = slot;
+    }
+
+    private void siftDown(int i) {
+        int slot = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && order.before(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!order.before(heap[child], slot)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = slot;
+    }
+}
@@ -5,101 +5,121 @@
 
 package com.cpusim.scheduling;
 
-import java.util.*;
-
-import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
-import com.cpusim.model.TimelineEvent;
-import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.model.Workload;
 
 public class SJFScheduler implements Scheduler {
 
     @Override
-    public SimulationResult schedule(List<Process> processes) {
-        List<Process> processList = new ArrayList<>(processes);
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        List<TimelineEvent> timeline = new ArrayList<>();
-        Map<Integer, Integer> completionTimes = new HashMap<>();
-        Map<Integer, Integer> waitingTimes = new HashMap<>();
-        Map<Integer, Integer> turnaroundTimes = new HashMap<>();
-
-        // Log all process arrivals
-        for (Process p : processList) {
-            timeline.add(new TimelineEvent(p.getArrivalTime(), p.getPid(), EventType.PROCESS_ARRIVAL, p.getBurstTime(),
-                    p.getPriority()));
+    public SimulationResult schedule(Workload workload, SimulationOptions options) {
+        SimulationRecorder recorder = new SimulationRecorder(workload, options);
+        return SchedulingRun.runToEnd(new Run(workload, recorder), recorder);
+    }
+
+    @Override
+    public SchedulingCursor cursor(Workload workload) {
+        return new SchedulingCursor(workload, recorder -> new Run(workload, recorder));
+    }
+
+    private static class Run implements SchedulingRun {
+        private final Workload workload;
+        private final SimulationRecorder recorder;
+
+        private int currentTime = 0;
+        private int previousSlot = -1;
+        private boolean wasIdle = false;
+
+        // Ready processes ordered by shortest burst time, arrival order (slot) as tiebreaker
+        private final ReadyHeap readyHeap;
+        private int nextArrival = 0; // Next slot that has not arrived yet
+
+        private int runningSlot = -1;
+        private int runEnd; // Completion time of the running process
+
+        Run(Workload workload, SimulationRecorder recorder) {
+            this.workload = workload;
+            this.recorder = recorder;
+            this.readyHeap = new ReadyHeap(workload.size(), (a, b) -> workload.burstTime(a) != workload.burstTime(b)
+                    ? workload.burstTime(a) < workload.burstTime(b)
+                    : a < b);
         }
 
-        int currentTime = 0;
-        int contextSwitches = 0;
-        Process previousProcess = null;
-        boolean wasIdle = false;
+        @Override
+        public boolean isDone() {
+            return nextArrival == workload.size() && readyHeap.isEmpty() && runningSlot == -1;
+        }
 
-        while (!processList.isEmpty()) {
-            List<Process> readyProcesses = new ArrayList<>();
-            for (Process p : processList) {
-                if (p.getArrivalTime() <= currentTime) {
-                    readyProcesses.add(p);
+        @Override
+        public int time() {
+            return currentTime;
+        }
+
+        @Override
+        public boolean step(int limit) {
+            if (runningSlot != -1) {
+                if (runEnd > limit) {
+                    currentTime = limit;
+                    return false;
                 }
+                currentTime = runEnd;
+                recorder.finish(currentTime, runningSlot);
+                previousSlot = runningSlot;
+                runningSlot = -1;
+                return true;
             }
 
-            if (readyProcesses.isEmpty()) {
+            int n = workload.size();
+            while (nextArrival < n && workload.arrivalTime(nextArrival) <= currentTime) {
+                readyHeap.add(nextArrival++);
+            }
+
+            if (readyHeap.isEmpty()) {
                 // Only log idle event when CPU first becomes idle
                 if (!wasIdle) {
-                    timeline.add(new TimelineEvent(currentTime, 0, EventType.CPU_IDLE));
+                    recorder.idle(currentTime);
                     wasIdle = true;
                 }
-                currentTime++;
-                continue;
+                // Fast-forward to the next arrival
+                int arrivalTime = workload.arrivalTime(nextArrival);
+                if (arrivalTime > limit) {
+                    currentTime = limit;
+                    return false;
+                }
+                currentTime = arrivalTime;
+                return true;
             }
 
-            readyProcesses.sort(Comparator.comparingInt(Process::getBurstTime));
-            Process currentProcess = readyProcesses.get(0);
+            int currentSlot = readyHeap.poll();
+            int burstTime = workload.burstTime(currentSlot);
 
             // Only context switch if transitioning from another process (not from idle)
-            if (previousProcess != null && previousProcess.getPid() != currentProcess.getPid() && !wasIdle) {
-                timeline.add(new TimelineEvent(currentTime, currentProcess.getPid(), EventType.CONTEXT_SWITCH,
-                        currentProcess.getBurstTime(), currentProcess.getPriority()));
-                contextSwitches++;
+            if (previousSlot != -1 && !wasIdle) {
+                recorder.contextSwitch(currentTime, currentSlot, burstTime);
             }
 
             wasIdle = false;
 
-            timeline.add(new TimelineEvent(currentTime, currentProcess.getPid(), EventType.PROCESS_START,
-                    currentProcess.getBurstTime(), currentProcess.getPriority()));
-            int startTime = currentTime;
-
-            currentTime += currentProcess.getBurstTime();
-            timeline.add(new TimelineEvent(currentTime, currentProcess.getPid(), EventType.PROCESS_FINISH));
-
-            completionTimes.put(currentProcess.getPid(), currentTime);
-            int waitingTime = startTime - currentProcess.getArrivalTime();
-            waitingTimes.put(currentProcess.getPid(), waitingTime);
-            int turnaroundTime = currentTime - currentProcess.getArrivalTime();
-            turnaroundTimes.put(currentProcess.getPid(), turnaroundTime);
-
-            processList.remove(currentProcess);
-            previousProcess = currentProcess;
+            recorder.start(currentTime, currentSlot, burstTime);
+            runningSlot = currentSlot;
+            runEnd = currentTime + burstTime;
+            recorder.run(currentSlot, currentTime, runEnd);
+            return true;
         }
 
-        // Sort timeline by time, then by event priority
-        timeline.sort(Comparator.comparingInt(TimelineEvent::getTime)
-                .thenComparingInt(e -> getEventPriority(e.getType())));
-
-        double totalWaitingTime = 0;
-        for (int waitTime : waitingTimes.values()) {
-            totalWaitingTime += waitTime;
+        @Override
+        public int runningSlot() {
+            return runningSlot;
         }
-        double averageWaitingTime = totalWaitingTime / waitingTimes.size();
 
-        double totalTurnaroundTime = 0;
-        for (int tat : turnaroundTimes.values()) {
-            totalTurnaroundTime += tat;
+        @Override
+        public int runningBurstRemaining() {
+            return runningSlot != -1 ? runEnd - currentTime : 0;
         }
-        double averageTurnaroundTime = totalTurnaroundTime / turnaroundTimes.size();
 
-        return new SimulationResult(timeline, averageWaitingTime, averageTurnaroundTime, contextSwitches,
-                completionTimes, waitingTimes, turnaroundTimes);
+        @Override
+        public int[] readySlots() {
+            return readyHeap.toSortedArray(nextArrival, workload.arrivedBy(nextArrival, currentTime), -1);
+        }
     }
 
     @Override
@@ -6,10 +6,29 @@ import java.util.*;
 
 import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
 import com.cpusim.model.TimelineEvent.EventType;
 
 public interface Scheduler {
-    SimulationResult schedule(List<Process> processes);
+    SimulationResult schedule(Workload workload, SimulationOptions options);
+
+    default SimulationResult schedule(Workload workload) {
+        return schedule(workload, SimulationOptions.FULL);
+    }
+
+    default SimulationResult schedule(List<Process> processes) {
+        return schedule(Workload.of(processes));
+    }
+
+    /**
+     * Starts a simulation of the workload that only advances as far as it is read through the returned
+     * cursor. Every call returns an independent cursor.
+     */
+    SchedulingCursor cursor(Workload workload);
+
+    default SchedulingCursor cursor(List<Process> processes) {
+        return cursor(Workload.of(processes));
+    }
 
     default String getName() {
         return this.getClass().getSimpleName();
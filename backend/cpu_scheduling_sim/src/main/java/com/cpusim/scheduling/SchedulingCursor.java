@@ -0,0 +1,111 @@
+/*
+    Plays a simulation forward on demand instead of computing it all up front.
+    The scheduler only runs as far as the events that have been asked for, so showing the first seconds of
+    a huge simulation, or paging through it, costs only the work for what is actually viewed.
+ */
+
+package com.cpusim.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+import com.cpusim.model.SchedulerSnapshot;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.Workload;
+
+public final class SchedulingCursor {
+    private final Workload workload;
+    private final SimulationRecorder recorder;
+    private final SchedulingRun run;
+
+    // Events the scheduler has produced but the client has not read yet
+    private final Deque<TimelineEvent> pending = new ArrayDeque<>();
+    private SimulationResult result; // Set once the run is done
+
+    SchedulingCursor(Workload workload, Function<SimulationRecorder, SchedulingRun> runFactory) {
+        this.workload = workload;
+        this.recorder = new SimulationRecorder(workload, SimulationOptions.streaming(pending::add));
+        this.run = runFactory.apply(recorder);
+    }
+
+    /**
+     * Returns the next timeline event, running the scheduler only as far as needed to produce it.
+     *
+     * @return the next event, or null once every event of the simulation has been returned
+     */
+    public TimelineEvent nextEvent() {
+        while (pending.isEmpty() && result == null) {
+            if (run.isDone()) {
+                finish();
+            } else {
+                run.step(Integer.MAX_VALUE);
+                recorder.flushTimeline();
+            }
+        }
+        return pending.poll();
+    }
+
+    /**
+     * Plays the simulation up to the given time and returns the events at or before it that have not been
+     * read yet, in timeline order. Afterwards the snapshot shows the scheduler at that time, unless earlier
+     * nextEvent() calls already ran the scheduler past it.
+     */
+    public List<TimelineEvent> advanceTo(int time) {
+        if (run.time() <= time) {
+            while (!run.isDone() && run.step(time)) {
+                // Keep stepping until the next decision lies after the target time
+            }
+        }
+        if (run.isDone()) {
+            finish();
+        } else {
+            // Nothing at or before the target time is still to come, so its arrivals can be logged now
+            recorder.logArrivalsUpTo(Math.min(time, run.time()));
+            recorder.flushTimeline();
+        }
+
+        List<TimelineEvent> events = new ArrayList<>();
+        while (!pending.isEmpty() && pending.peek().getTime() <= time) {
+            events.add(pending.poll());
+        }
+        return events;
+    }
+
+    // True once the simulation is over and every event has been read
+    public boolean isFinished() {
+        return result != null && pending.isEmpty();
+    }
+
+    public SchedulerSnapshot snapshot() {
+        int runningSlot = run.runningSlot();
+        int[] readySlots = run.readySlots();
+        List<Integer> readyPids = new ArrayList<>(readySlots.length);
+        for (int slot : readySlots) {
+            readyPids.add(workload.pid(slot));
+        }
+        return new SchedulerSnapshot(run.time(), runningSlot != -1 ? workload.pid(runningSlot) : 0,
+                run.runningBurstRemaining(), readyPids, recorder.getCompleted(), recorder.getContextSwitches(),
+                run.isDone());
+    }
+
+    /**
+     * Metrics of the whole simulation with an empty timeline. Only available once the scheduler is done,
+     * which advanceTo(Integer.MAX_VALUE) guarantees.
+     */
+    public SimulationResult result() {
+        if (result == null) {
+            throw new IllegalStateException("Simulation has not finished yet, it is at t" + run.time());
+        }
+        return result;
+    }
+
+    private void finish() {
+        if (result == null) {
+            result = recorder.result();
+        }
+    }
+}
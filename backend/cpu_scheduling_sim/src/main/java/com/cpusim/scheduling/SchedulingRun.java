@@ -0,0 +1,44 @@
+/*
+    The state of one scheduler run, advanced a step at a time.
+    Every scheduler keeps its loop state in a SchedulingRun so the same code serves both the batch
+    schedule() call, which steps until the run is done, and a SchedulingCursor, which only steps as far
+    as the client has asked to see.
+ */
+
+package com.cpusim.scheduling;
+
+import com.cpusim.model.SimulationResult;
+
+interface SchedulingRun {
+
+    boolean isDone();
+
+    // Scheduler clock
+    int time();
+
+    /**
+     * Makes the next scheduling decision (dispatch, finish, idle, ...) and reports it to the recorder.
+     * The clock is never moved past the limit: when the next decision lies after it, the clock stops at
+     * the limit and false is returned. Callers must pass a limit of at least time().
+     *
+     * @return false if the limit stopped the run before its next decision
+     */
+    boolean step(int limit);
+
+    // Slot of the process holding the CPU, -1 when idle
+    int runningSlot();
+
+    // Burst time the running process still needs, 0 when idle
+    int runningBurstRemaining();
+
+    // Slots that are ready to run (excluding the running process) in the order they would be dispatched
+    int[] readySlots();
+
+    // Runs to completion, used by schedule()
+    static SimulationResult runToEnd(SchedulingRun run, SimulationRecorder recorder) {
+        while (!run.isDone()) {
+            run.step(Integer.MAX_VALUE);
+        }
+        return recorder.result();
+    }
+}
@@ -0,0 +1,60 @@
+// Controls how much detail a scheduler records while it runs
+
+package com.cpusim.scheduling;
+
+public final class SimulationOptions {
+
+    // Timeline, Gantt segments and per-process metrics
+    public static final SimulationOptions FULL = new SimulationOptions(true, true);
+
+    // Only the context switch count and the average waiting/turnaround times. For grading, sweeps and
+    // batch runs that never look at the timeline.
+    public static final SimulationOptions METRICS_ONLY = new SimulationOptions(false, false);
+
+    private final boolean recordTimeline;
+    private final boolean recordProcessMetrics;
+    private final TimelineSink timelineSink;
+
+    public SimulationOptions(boolean recordTimeline, boolean recordProcessMetrics) {
+        this(recordTimeline, recordProcessMetrics, null);
+    }
+
+    private SimulationOptions(boolean recordTimeline, boolean recordProcessMetrics, TimelineSink timelineSink) {
+        this.recordTimeline = recordTimeline;
+        this.recordProcessMetrics = recordProcessMetrics;
+        this.timelineSink = timelineSink;
+    }
+
+    /**
+     * Pushes timeline events to the sink in chunks while the scheduler runs instead of keeping them in the
+     * result, so memory stays bounded by the chunk size however long the timeline gets. Gantt segments are
+     * not recorded; per-process metrics are.
+     */
+    public static SimulationOptions streaming(TimelineSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Timeline sink must not be null");
+        }
+        return new SimulationOptions(false, true, sink);
+    }
+
+    // Timeline events and Gantt segments
+    public boolean isRecordTimeline() {
+        return recordTimeline;
+    }
+
+    // Per-process completion, waiting and turnaround times
+    public boolean isRecordProcessMetrics() {
+        return recordProcessMetrics;
+    }
+
+    // Receives the timeline as it is produced, null unless streaming
+    public TimelineSink getTimelineSink() {
+        return timelineSink;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationOptions{recordTimeline=" + recordTimeline + ", recordProcessMetrics="
+                + recordProcessMetrics + ", streaming=" + (timelineSink != null) + '}';
+    }
+}
@@ -0,0 +1,162 @@
+/*
+    Collects everything a scheduler reports during a run and builds the SimulationResult.
+    Schedulers only decide what runs when; what gets kept is decided here from the SimulationOptions,
+    so a metrics-only run skips the timeline, the Gantt chart and the per-process arrays entirely.
+    When streaming, the timeline buffer only holds one chunk and is drained into the sink whenever it fills up.
+ */
+
+package com.cpusim.scheduling;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import com.cpusim.model.GanttChart;
+import com.cpusim.model.GanttSegment;
+import com.cpusim.model.ProcessMetrics;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineBuffer;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.Workload;
+
+public final class SimulationRecorder {
+    static final int STREAM_CHUNK_SIZE = 1024;
+    // Context switches and completions between checks for an interrupted thread
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final Workload workload;
+    private final TimelineSink sink; // null unless streaming
+    private final TimelineBuffer timeline; // null unless the timeline is recorded or streamed
+    private final GanttChart gantt; // null unless the timeline is recorded
+    private final int[] completionTimes; // slot -> completion time, null unless per-process metrics are recorded
+
+    private int contextSwitches;
+    private int completed;
+    private long totalWaitingTime;
+    private long totalTurnaroundTime;
+    private int stepsUntilCancelCheck = CANCEL_CHECK_INTERVAL;
+
+    public SimulationRecorder(Workload workload, SimulationOptions options) {
+        this.workload = workload;
+        this.sink = options.getTimelineSink();
+        if (sink != null) {
+            this.timeline = new TimelineBuffer(workload, STREAM_CHUNK_SIZE);
+        } else {
+            this.timeline = options.isRecordTimeline() ? new TimelineBuffer(workload) : null;
+        }
+        this.gantt = options.isRecordTimeline() ? new GanttChart(workload) : null;
+        this.completionTimes = options.isRecordProcessMetrics() ? new int[workload.size()] : null;
+    }
+
+    public void idle(int time) {
+        if (timeline != null) {
+            timeline.idle(time);
+            drainIfFull();
+        }
+    }
+
+    public void contextSwitch(int time, int slot, int burstRemaining) {
+        contextSwitches++;
+        checkCancelled();
+        if (timeline != null) {
+            timeline.contextSwitch(time, slot, burstRemaining);
+            drainIfFull();
+        }
+    }
+
+    public void start(int time, int slot, int burstRemaining) {
+        if (timeline != null) {
+            timeline.start(time, slot, burstRemaining);
+            drainIfFull();
+        }
+    }
+
+    // The process in the given slot held the CPU from start to end
+    public void run(int slot, int start, int end) {
+        if (gantt != null) {
+            gantt.run(slot, start, end);
+        }
+    }
+
+    public void finish(int time, int slot) {
+        if (timeline != null) {
+            timeline.finish(time, slot);
+            drainIfFull();
+        }
+        if (completionTimes != null) {
+            completionTimes[slot] = time;
+        }
+        int turnaroundTime = time - workload.arrivalTime(slot);
+        totalTurnaroundTime += turnaroundTime;
+        totalWaitingTime += turnaroundTime - workload.burstTime(slot);
+        completed++;
+        checkCancelled();
+    }
+
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public SimulationResult result() {
+        if (timeline != null) {
+            timeline.close();
+        }
+        if (sink != null) {
+            drain();
+        }
+        if (completionTimes != null) {
+            return new SimulationResult(sink == null ? timeline : null, gantt, contextSwitches,
+                    new ProcessMetrics(workload, completionTimes));
+        }
+        List<TimelineEvent> events = timeline != null && sink == null ? timeline.asList() : List.of();
+        List<GanttSegment> segments = gantt != null ? gantt.asList() : List.of();
+        return new SimulationResult(events, segments, (double) totalWaitingTime / completed,
+                (double) totalTurnaroundTime / completed, contextSwitches);
+    }
+
+    /**
+     * Stops the run with a CancellationException once its thread has been interrupted, e.g. when a simulation job
+     * is cancelled. Only looks at the interrupt flag every few thousand steps so it costs nothing measurable.
+     */
+    private void checkCancelled() {
+        if (--stepsUntilCancelCheck == 0) {
+            stepsUntilCancelCheck = CANCEL_CHECK_INTERVAL;
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Simulation was cancelled");
+            }
+        }
+    }
+
+    // Hands the events recorded so far to the sink, used by cursors that read the timeline step by step
+    void flushTimeline() {
+        if (sink != null) {
+            drain();
+        }
+    }
+
+    // See TimelineBuffer.logArrivalsUpTo
+    void logArrivalsUpTo(int time) {
+        if (timeline != null) {
+            timeline.logArrivalsUpTo(time);
+            drainIfFull();
+        }
+    }
+
+    private void drainIfFull() {
+        if (sink != null && timeline.size() >= STREAM_CHUNK_SIZE) {
+            drain();
+        }
+    }
+
+    // Hands the buffered chunk to the sink and empties the buffer
+    private void drain() {
+        for (int i = 0; i < timeline.size(); i++) {
+            sink.accept(timeline.event(i));
+        }
+        timeline.clear();
+        sink.flush();
+    }
+}
@@ -0,0 +1,14 @@
+// Receives timeline events one at a time, in timeline order, as a scheduler produces them
+
+package com.cpusim.scheduling;
+
+import com.cpusim.model.TimelineEvent;
+
+@FunctionalInterface
+public interface TimelineSink {
+    void accept(TimelineEvent event);
+
+    // Called after each chunk of events, sinks that write to a stream flush it here
+    default void flush() {
+    }
+}
@@ -0,0 +1,19 @@
+// Thrown when a simulation job is submitted while every worker is busy and the job queue is full
+
+package com.cpusim.service;
+
+public class JobQueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public JobQueueFullException(int maxQueued, long retryAfterSeconds) {
+        super("Simulation job queue is full (" + maxQueued + " jobs waiting), retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    // Estimated time until a queue slot frees up, for the Retry-After header
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
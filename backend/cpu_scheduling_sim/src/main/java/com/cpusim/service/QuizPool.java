@@ -0,0 +1,216 @@
+/*
+    Pool of ready-made quizzes with their answers already simulated.
+    A background thread keeps a bounded queue of quizzes filled, so handing one out is a dequeue. Every quiz
+    handed out is remembered by its quizId together with its answer until it is submitted, which lets
+    grading skip the simulation. A quiz the solver fails on is logged and skipped. When the pool runs dry a
+    quiz is generated on the request thread, and submissions for unknown or altered quizzes are simulated as
+    before.
+ */
+
+package com.cpusim.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+import com.cpusim.model.Process;
+import com.cpusim.model.QuizData;
+import com.cpusim.model.QuizSubmission;
+import com.cpusim.model.SimulationResult;
+
+public final class QuizPool implements AutoCloseable {
+    private static final String[] ALGORITHMS = { "fcfs", "sjf", "srtf", "pp", "rr" };
+    private static final System.Logger LOG = System.getLogger(QuizPool.class.getName());
+    // Pause after a quiz fails to solve, so a solver that keeps failing doesn't spin the producer
+    private static final long FAILURE_BACKOFF_MILLIS = 100;
+
+    private final BlockingQueue<PooledQuiz> ready;
+    private final Map<String, PooledQuiz> issued;
+    private final Function<QuizData, SimulationResult> solver;
+    private final Thread producer;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity  Number of quizzes kept ready
+     * @param maxIssued Number of handed out quizzes whose answers are remembered, oldest are forgotten first
+     * @param solver    Simulates a quiz and returns its full result
+     */
+    public QuizPool(int capacity, int maxIssued, Function<QuizData, SimulationResult> solver) {
+        if (capacity < 1 || maxIssued < 1) {
+            throw new IllegalArgumentException(
+                    "Pool capacity and issued quiz limit must be at least 1, got " + capacity + " and " + maxIssued);
+        }
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        this.issued = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PooledQuiz> eldest) {
+                return size() > maxIssued;
+            }
+        };
+        this.solver = solver;
+        this.producer = Thread.ofPlatform().name("quiz-pool").daemon().start(this::produce);
+    }
+
+    // Hands out a quiz, from the pool when one is ready
+    public QuizData take() {
+        PooledQuiz quiz = ready.poll();
+        if (quiz == null) {
+            QuizData data = createQuiz(ThreadLocalRandom.current());
+            quiz = new PooledQuiz(data, solver.apply(data));
+        }
+        synchronized (issued) {
+            issued.put(quiz.data.getQuizId(), quiz);
+        }
+        return quiz.data;
+    }
+
+    /**
+     * Returns the precomputed full result for the submitted quiz, or null if the quiz is unknown or the
+     * submission doesn't match what was handed out. A matching submission uses up the quiz, so its answer is
+     * only handed out once.
+     */
+    public SimulationResult answer(QuizSubmission submission) {
+        if (submission.getQuizId() == null) {
+            return null;
+        }
+        synchronized (issued) {
+            PooledQuiz quiz = issued.get(submission.getQuizId());
+            if (quiz == null || !quiz.matches(submission)) {
+                return null;
+            }
+            issued.remove(submission.getQuizId());
+            return quiz.answer;
+        }
+    }
+
+    public int issuedCount() {
+        synchronized (issued) {
+            return issued.size();
+        }
+    }
+
+    public int readyCount() {
+        return ready.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        producer.interrupt();
+    }
+
+    private void produce() {
+        SplittableRandom random = new SplittableRandom();
+        try {
+            while (!closed) {
+                QuizData data = createQuiz(random);
+                SimulationResult answer;
+                try {
+                    answer = solver.apply(data);
+                } catch (RuntimeException e) {
+                    // Skip this quiz, take() still generates one on the request thread if the pool runs dry
+                    LOG.log(System.Logger.Level.WARNING, "Failed to solve quiz " + data.getQuizId(), e);
+                    Thread.sleep(FAILURE_BACKOFF_MILLIS);
+                    continue;
+                }
+                ready.put(new PooledQuiz(data, answer));
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+    }
+
+    // Generate a random quiz with 4-10 processes and a random algorithm
+    static QuizData createQuiz(RandomGenerator random) {
+        String quizId = UUID.randomUUID().toString();
+
+        // Generate 4-10 random processes
+        int numProcesses = random.nextInt(7) + 4;
+        List<Process> quizProcesses = new ArrayList<>();
+
+        for (int i = 0; i < numProcesses; i++) {
+            int burstTime = random.nextInt(15) + 1; // 1-15 time units
+            int priority = random.nextInt(10) + 1; // 1-10 priority
+            int arrivalTime = random.nextInt(10); // 0-9 arrival time
+
+            quizProcesses.add(new Process(i + 1, burstTime, priority, arrivalTime));
+        }
+
+        // Sort processes by arrival time to ensure P1 arrives before or at the same
+        // time as P2, etc.
+        // Makes the process table easier to read and understand
+        quizProcesses.sort(Comparator.comparingInt(Process::getArrivalTime));
+
+        // Reassign PIDs after sorting so they're in order (1, 2, 3, ...)
+        for (int i = 0; i < quizProcesses.size(); i++) {
+            Process oldProcess = quizProcesses.get(i);
+            quizProcesses.set(i, new Process(
+                    i + 1, // new PID in sorted order
+                    oldProcess.getBurstTime(),
+                    oldProcess.getPriority(),
+                    oldProcess.getArrivalTime()));
+        }
+
+        // Select a random algorithm
+        String selectedAlgorithm = ALGORITHMS[random.nextInt(ALGORITHMS.length)];
+
+        // Generate a random quantum for RR (2-6)
+        Integer quantum = selectedAlgorithm.equals("rr") ? random.nextInt(5) + 2 : null;
+
+        // Map algorithm codes to display names
+        String displayName = switch (selectedAlgorithm) {
+            case "fcfs" -> "First Come First Served (FCFS)";
+            case "sjf" -> "Shortest Job First (SJF)";
+            case "srtf" -> "Shortest Remaining Time First (SRTF)";
+            case "pp" -> "Preemptive Priority (PP)";
+            case "rr" -> "Round Robin (RR)";
+            default -> selectedAlgorithm;
+        };
+
+        return new QuizData(quizId, quizProcesses, selectedAlgorithm, displayName, quantum);
+    }
+
+    private static final class PooledQuiz {
+        final QuizData data;
+        final SimulationResult answer;
+
+        PooledQuiz(QuizData data, SimulationResult answer) {
+            this.data = data;
+            this.answer = answer;
+        }
+
+        // The client sends the quiz back with the answers, the stored answer only holds if nothing changed
+        boolean matches(QuizSubmission submission) {
+            if (!data.getAlgorithm().equalsIgnoreCase(submission.getAlgorithm())) {
+                return false;
+            }
+            if (data.getAlgorithm().equals("rr") && !Objects.equals(data.getQuantum(), submission.getQuantum())) {
+                return false;
+            }
+            List<Process> expected = data.getProcesses();
+            List<Process> actual = submission.getProcesses();
+            if (actual == null || actual.size() != expected.size()) {
+                return false;
+            }
+            for (int i = 0; i < expected.size(); i++) {
+                Process e = expected.get(i);
+                Process a = actual.get(i);
+                if (e.getPid() != a.getPid() || e.getBurstTime() != a.getBurstTime()
+                        || e.getPriority() != a.getPriority() || e.getArrivalTime() != a.getArrivalTime()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
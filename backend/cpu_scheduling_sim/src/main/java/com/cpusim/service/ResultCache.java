@@ -0,0 +1,180 @@
+/*
+    Cache of simulation results keyed by their content: a SHA-256 hash of the workload in slot order, the
+    scheduler (its name includes the quantum for Round Robin) and what was recorded. Submitting the same
+    processes again, from any session, finds the result without running the scheduler.
+    The cache is bounded by an estimate of the bytes the cached results hold and evicts the least recently
+    used entries beyond that. Results are immutable, so one instance can be handed to every caller.
+ */
+
+package com.cpusim.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import com.cpusim.model.CacheStats;
+import com.cpusim.model.GanttChart;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineBuffer;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.SimulationOptions;
+
+public final class ResultCache {
+    // Rough per-item footprint of a result: two packed longs per timeline event, three ints per Gantt segment,
+    // and per process the workload columns plus completion time and pid index. The timeline and chart are
+    // counted by their allocated capacity, which can be up to twice their size after growing; for plain
+    // lists the capacity is unknown and the worst case is assumed.
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final long BYTES_PER_EVENT = 16;
+    private static final long BYTES_PER_SEGMENT = 12;
+    private static final long BYTES_PER_PROCESS = 28;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ResultCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative, got " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached result for the key, or runs the simulation and caches its result.
+     * The simulation runs outside the cache lock, so two callers missing on the same key at the same
+     * time both simulate and the second result replaces the first.
+     */
+    public SimulationResult get(Key key, Supplier<SimulationResult> simulation) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry.result;
+            }
+            misses++;
+        }
+        SimulationResult result = simulation.get();
+        put(key, result);
+        return result;
+    }
+
+    private synchronized void put(Key key, SimulationResult result) {
+        long size = estimateBytes(result);
+        if (size > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(result, size));
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        bytes += size;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), bytes, maxBytes);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    static long estimateBytes(SimulationResult result) {
+        TimelineBuffer timeline = result.timelineBuffer();
+        GanttChart gantt = result.ganttChart();
+        long events = timeline != null ? timeline.capacity() : 2L * result.getTimeline().size();
+        long segments = gantt != null ? gantt.capacity() : 2L * result.getSegments().size();
+        return ENTRY_OVERHEAD_BYTES
+                + BYTES_PER_EVENT * events
+                + BYTES_PER_SEGMENT * segments
+                + BYTES_PER_PROCESS * result.getCompletionTimes().size();
+    }
+
+    /**
+     * Builds the key of a simulation. Processes with the same arrival time keep their submitted order in the
+     * workload and that order can decide ties, so the hash follows the workload's slot order.
+     *
+     * @param schedulerName Scheduler.getName(), which tells algorithms and Round Robin quanta apart
+     */
+    public static Key key(Workload workload, String schedulerName, SimulationOptions options) {
+        MessageDigest digest = sha256();
+        digest.update(schedulerName.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        buffer.put((byte) (options.isRecordTimeline() ? 1 : 0));
+        buffer.put((byte) (options.isRecordProcessMetrics() ? 1 : 0));
+        buffer.putInt(workload.size());
+        for (int slot = 0; slot < workload.size(); slot++) {
+            if (buffer.remaining() < 16) {
+                digest.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            buffer.putInt(workload.pid(slot));
+            buffer.putInt(workload.arrivalTime(slot));
+            buffer.putInt(workload.burstTime(slot));
+            buffer.putInt(workload.priority(slot));
+        }
+        digest.update(buffer.array(), 0, buffer.position());
+        return new Key(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java runtime is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static final class Key {
+        private final byte[] hash;
+        private final int hashCode;
+
+        private Key(byte[] hash) {
+            this.hash = hash;
+            this.hashCode = Arrays.hashCode(hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Arrays.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return HexFormat.of().formatHex(hash);
+        }
+    }
+
+    private static final class Entry {
+        final SimulationResult result;
+        final long bytes;
+
+        Entry(SimulationResult result, long bytes) {
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+}
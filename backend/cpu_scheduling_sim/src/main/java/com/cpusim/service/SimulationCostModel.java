@@ -0,0 +1,256 @@
+/*
+    Predicts what a simulation will cost before it runs, so the service can decide whether to run it on the
+    request thread, hand it to the job pool or refuse it.
+    The schedulers skip idle time, so the cost depends on the number of scheduling steps rather than on the
+    length of the simulated clock: one step per process, plus one per time slice for Round Robin. The
+    ready-queue algorithms pay a heap operation per step whose cost grows with the queue length, which is
+    estimated from the load (total burst over arrival span): when work arrives faster than it can be served
+    the queue holds most of the processes, otherwise it stays short. The per-step costs were measured on a
+    single core.
+    One pass over the workload gives everything the estimate needs, including the exact makespan, which is
+    the same for every algorithm because none of them leaves the CPU idle while a process is ready. A run
+    whose clock would pass Integer.MAX_VALUE or a Round Robin quantum below 1 is rejected outright, since
+    neither would ever produce a valid result.
+    Measured run times are recorded against their estimates per algorithm, see accuracy().
+ */
+
+package com.cpusim.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.cpusim.model.CostAccuracy;
+import com.cpusim.model.CostEstimate;
+import com.cpusim.model.CostEstimate.Route;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.MultiCoreOptions;
+
+public final class SimulationCostModel {
+    public static final double DEFAULT_SYNC_MAX_MILLIS = 250;
+    public static final double DEFAULT_MAX_MILLIS = 120_000;
+    public static final long DEFAULT_MAX_EVENTS = 0; // Derived from the heap size
+
+    // Heap a recorded event can take: 16 bytes in the timeline, twice that while the buffer grows, and its
+    // share of the Gantt chart. A run may fill half the heap this way.
+    private static final long BYTES_PER_EVENT = 48;
+
+    private static final String[] ALGORITHMS = { "fcfs", "sjf", "srtf", "pp", "rr" };
+
+    // Nanoseconds per step, and per log2 of the ready queue length for the heap-based algorithms
+    private static final double FCFS_STEP_NANOS = 150;
+    private static final double SJF_STEP_NANOS = 100;
+    private static final double SRTF_STEP_NANOS = 120;
+    private static final double PP_STEP_NANOS = 120;
+    private static final double SJF_HEAP_NANOS = 34;
+    private static final double SRTF_HEAP_NANOS = 34;
+    private static final double PP_HEAP_NANOS = 52;
+    private static final double RR_PROCESS_NANOS = 150;
+    private static final double RR_SLICE_NANOS = 150;
+    // Multi-core: least-loaded placement scans every core per arrival, work stealing every core per step
+    private static final double CORE_SCAN_NANOS = 1.5;
+
+    private final double syncMaxMillis;
+    private final double maxMillis;
+    private final long maxEvents;
+    private final Map<String, Accuracy> accuracy = new ConcurrentHashMap<>();
+
+    public SimulationCostModel() {
+        this(DEFAULT_SYNC_MAX_MILLIS, DEFAULT_MAX_MILLIS, DEFAULT_MAX_EVENTS);
+    }
+
+    /**
+     * @param syncMaxMillis Predicted time up to which a run goes on the request thread
+     * @param maxMillis     Predicted time beyond which a run is rejected
+     * @param maxEvents     Timeline size beyond which a run that keeps its timeline in memory is rejected, 0 for
+     *                      as many as fit in half the heap
+     */
+    public SimulationCostModel(double syncMaxMillis, double maxMillis, long maxEvents) {
+        if (syncMaxMillis < 0 || maxMillis < syncMaxMillis || maxEvents < 0) {
+            throw new IllegalArgumentException("Invalid cost limits: " + syncMaxMillis + "ms sync, " + maxMillis
+                    + "ms max, " + maxEvents + " events");
+        }
+        this.syncMaxMillis = syncMaxMillis;
+        this.maxMillis = maxMillis;
+        this.maxEvents = maxEvents > 0 ? maxEvents : Runtime.getRuntime().maxMemory() / 2 / BYTES_PER_EVENT;
+    }
+
+    /**
+     * Estimates a run of the algorithm on the workload.
+     *
+     * @param algorithm      Normalized algorithm key: fcfs, sjf, srtf, pp or rr
+     * @param recordTimeline Whether the run keeps its timeline in memory, only then does maxEvents apply
+     */
+    public CostEstimate estimate(Workload workload, String algorithm, int quantum, boolean recordTimeline) {
+        int n = workload.size();
+        boolean roundRobin = algorithm.equals("rr");
+        if (roundRobin && quantum < 1) {
+            return new CostEstimate(algorithm, quantum, n, 0, 0, 0, 0, 0, 0, Route.REJECT,
+                    "Quantum must be at least 1, got " + quantum);
+        }
+
+        long totalBurst = 0;
+        long makespan = 0;
+        long slices = 0;
+        for (int slot = 0; slot < n; slot++) {
+            int burst = workload.burstTime(slot);
+            totalBurst += burst;
+            makespan = Math.max(makespan, workload.arrivalTime(slot)) + burst;
+            if (roundRobin) {
+                slices += (burst + (long) quantum - 1) / quantum;
+            }
+        }
+        long arrivalSpan = n > 0 ? (long) workload.arrivalTime(n - 1) - workload.arrivalTime(0) : 0;
+
+        double load = (double) totalBurst / Math.max(1, arrivalSpan);
+        double queueLength = load > 1 ? n * (1 - 1 / load) : 1;
+        double heapLog = Math.log1p(queueLength) / Math.log(2);
+        double nanos;
+        long steps = n;
+        double eventsPerProcess = 4;
+        switch (algorithm) {
+            case "fcfs" -> nanos = n * FCFS_STEP_NANOS;
+            case "sjf" -> nanos = n * (SJF_STEP_NANOS + SJF_HEAP_NANOS * heapLog);
+            case "srtf" -> {
+                nanos = n * (SRTF_STEP_NANOS + SRTF_HEAP_NANOS * heapLog);
+                eventsPerProcess = 4.2;
+            }
+            case "pp" -> {
+                nanos = n * (PP_STEP_NANOS + PP_HEAP_NANOS * heapLog);
+                eventsPerProcess = 4.2;
+            }
+            case "rr" -> {
+                nanos = n * RR_PROCESS_NANOS + slices * RR_SLICE_NANOS;
+                steps = slices;
+            }
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+        long events = roundRobin ? 3L * n + slices : (long) Math.ceil(n * eventsPerProcess);
+        return estimate(algorithm, quantum, n, totalBurst, arrivalSpan, makespan, steps, events, nanos / 1e6,
+                recordTimeline);
+    }
+
+    /**
+     * Estimates a MultiCoreSimulator run: the single-core work, which the per-core queues only make cheaper,
+     * plus the scans over all cores that placement and work stealing do.
+     */
+    public CostEstimate estimateMultiCore(Workload workload, String algorithm, int quantum, MultiCoreOptions options,
+            boolean recordTimeline) {
+        CostEstimate single = estimate(workload, algorithm, quantum, recordTimeline);
+        if (single.getRoute() == Route.REJECT) {
+            // The extra scans only add to the cost
+            return single;
+        }
+        double scans = 0;
+        if (options.getPlacement() == MultiCoreOptions.Placement.LEAST_LOADED) {
+            scans += (double) single.getProcessCount() * options.getCores();
+        }
+        if (options.getBalancer() == MultiCoreOptions.Balancer.WORK_STEALING) {
+            scans += (double) single.getSteps() * options.getCores();
+        }
+        double millis = single.getPredictedMillis() + scans * CORE_SCAN_NANOS / 1e6;
+        return estimate(algorithm, quantum, single.getProcessCount(), single.getTotalBurstTime(),
+                single.getArrivalSpan(), single.getMakespan(), single.getSteps(), single.getPredictedEvents(), millis,
+                recordTimeline);
+    }
+
+    /**
+     * Estimates metrics-only Round Robin runs of the workload, one per quantum, e.g. a quantum sweep. The time
+     * is the work of all runs together. Each process takes at most burst / quantum + 1 slices, so one pass over
+     * the workload covers any number of quanta.
+     */
+    public CostEstimate estimateRoundRobinRuns(Workload workload, int[] quanta) {
+        int n = workload.size();
+        int minQuantum = Integer.MAX_VALUE;
+        for (int quantum : quanta) {
+            minQuantum = Math.min(minQuantum, quantum);
+        }
+        if (minQuantum < 1) {
+            return new CostEstimate("rr", minQuantum, n, 0, 0, 0, 0, 0, 0, Route.REJECT,
+                    "Quantum must be at least 1, got " + minQuantum);
+        }
+        long totalBurst = 0;
+        long makespan = 0;
+        for (int slot = 0; slot < n; slot++) {
+            int burst = workload.burstTime(slot);
+            totalBurst += burst;
+            makespan = Math.max(makespan, workload.arrivalTime(slot)) + burst;
+        }
+        long arrivalSpan = n > 0 ? (long) workload.arrivalTime(n - 1) - workload.arrivalTime(0) : 0;
+
+        long slices = 0;
+        for (int quantum : quanta) {
+            slices += totalBurst / quantum + n;
+        }
+        double nanos = (double) quanta.length * n * RR_PROCESS_NANOS + slices * RR_SLICE_NANOS;
+        return estimate("rr", minQuantum, n, totalBurst, arrivalSpan, makespan, slices, 0, nanos / 1e6, false);
+    }
+
+    // Routes the run by its predicted cost
+    private CostEstimate estimate(String algorithm, int quantum, int n, long totalBurst, long arrivalSpan,
+            long makespan, long steps, long events, double millis, boolean recordTimeline) {
+        Route route;
+        String reason = null;
+        if (makespan > Integer.MAX_VALUE) {
+            route = Route.REJECT;
+            reason = "Simulated time would reach " + makespan + ", past the limit of " + Integer.MAX_VALUE;
+        } else if (millis > maxMillis) {
+            route = Route.REJECT;
+            reason = String.format("Predicted run time of %.0f ms is over the limit of %.0f ms", millis, maxMillis);
+        } else if (recordTimeline && events > maxEvents) {
+            route = Route.REJECT;
+            reason = "Predicted timeline of " + events + " events is over the limit of " + maxEvents;
+        } else {
+            route = millis <= syncMaxMillis ? Route.SYNC : Route.ASYNC;
+        }
+        return new CostEstimate(algorithm, quantum, n, totalBurst, arrivalSpan, makespan, steps, events, millis,
+                route, reason);
+    }
+
+    // Records how long a run that was estimated took and how many timeline events it produced
+    public void record(CostEstimate estimate, long actualNanos, long actualEvents) {
+        accuracy.computeIfAbsent(estimate.getAlgorithm(), key -> new Accuracy())
+                .add(estimate.getPredictedMillis(), actualNanos / 1e6, estimate.getPredictedEvents(), actualEvents);
+    }
+
+    // Recorded accuracy per algorithm, for the algorithms that have run at least once
+    public List<CostAccuracy> accuracy() {
+        List<CostAccuracy> result = new ArrayList<>(ALGORITHMS.length);
+        for (String algorithm : ALGORITHMS) {
+            Accuracy entry = accuracy.get(algorithm);
+            if (entry != null) {
+                result.add(entry.snapshot(algorithm));
+            }
+        }
+        return result;
+    }
+
+    private static final class Accuracy {
+        private long runs;
+        private double predictedMillis;
+        private double actualMillis;
+        private double minRatio = Double.POSITIVE_INFINITY;
+        private double maxRatio;
+        private double predictedEvents;
+        private double actualEvents;
+
+        synchronized void add(double predicted, double actual, long predictedEventCount, long actualEventCount) {
+            runs++;
+            predictedMillis += predicted;
+            actualMillis += actual;
+            predictedEvents += predictedEventCount;
+            actualEvents += actualEventCount;
+            if (predicted > 0) {
+                minRatio = Math.min(minRatio, actual / predicted);
+                maxRatio = Math.max(maxRatio, actual / predicted);
+            }
+        }
+
+        synchronized CostAccuracy snapshot(String algorithm) {
+            double ratio = predictedMillis > 0 ? actualMillis / predictedMillis : 0;
+            return new CostAccuracy(algorithm, runs, predictedMillis / runs, actualMillis / runs, ratio,
+                    maxRatio > 0 ? minRatio : 0, maxRatio, predictedEvents / runs, actualEvents / runs);
+        }
+    }
+}
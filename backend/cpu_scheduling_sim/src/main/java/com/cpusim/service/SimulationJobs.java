@@ -0,0 +1,199 @@
+/*
+    Runs simulations as background jobs so long runs don't hold a request thread.
+    Jobs go to a fixed pool of worker threads with a bounded queue in front of it. When the queue is full a
+    submission fails right away with JobQueueFullException, carrying an estimate of when to retry based on
+    recent run times, instead of piling up work the server can't get to. Small jobs can be run inline on the
+    submitting thread and come back already done.
+    Cancelling a queued job removes it from the queue; cancelling a running job interrupts its worker, which the
+    scheduler notices at its next check (see SimulationRecorder). Finished jobs keep their result until
+    maxFinished newer jobs have finished.
+ */
+
+package com.cpusim.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cpusim.model.JobStatus;
+import com.cpusim.model.SimulationResult;
+
+public final class SimulationJobs implements AutoCloseable {
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final ThreadPoolExecutor executor;
+    private final int workers;
+    private final int maxQueued;
+    private final int maxFinished;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finished = new ConcurrentLinkedQueue<>(); // Finished job ids, oldest first
+    private final AtomicInteger finishedCount = new AtomicInteger();
+    private volatile double averageRunMillis; // Moving average over recent jobs, drives Retry-After
+
+    /**
+     * @param workers     Jobs that run at the same time
+     * @param maxQueued   Jobs that may wait for a worker, submissions beyond that are rejected
+     * @param maxFinished Finished jobs whose status and result are kept, oldest are forgotten first
+     */
+    public SimulationJobs(int workers, int maxQueued, int maxFinished) {
+        if (workers < 1 || maxQueued < 1 || maxFinished < 1) {
+            throw new IllegalArgumentException("Invalid job limits: " + workers + " workers, " + maxQueued
+                    + " queued, " + maxFinished + " finished");
+        }
+        this.workers = workers;
+        this.maxQueued = maxQueued;
+        this.maxFinished = maxFinished;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), Thread.ofPlatform().name("simulation-job-", 0).daemon().factory());
+    }
+
+    /**
+     * Starts a job.
+     *
+     * @param algorithm    Scheduler name, for the status
+     * @param processCount Size of the workload, for the status
+     * @param task         Runs the simulation
+     * @param inline       Run on the calling thread instead of the pool, for jobs too small to be worth queueing
+     * @return Status right after submission, DONE or FAILED for inline jobs
+     * @throws JobQueueFullException if the job would have to wait and the queue is full
+     */
+    public JobStatus submit(String algorithm, int processCount, Callable<SimulationResult> task, boolean inline) {
+        Job job = new Job(UUID.randomUUID().toString(), algorithm, processCount, task);
+        jobs.put(job.id, job);
+        if (inline) {
+            job.run();
+            return job.status();
+        }
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new JobQueueFullException(maxQueued, retryAfterSeconds());
+        }
+        return job.status();
+    }
+
+    // Status of the job, null if it is unknown or was forgotten
+    public JobStatus status(String id) {
+        Job job = jobs.get(id);
+        return job != null ? job.status() : null;
+    }
+
+    // Result of a job that is DONE, null otherwise
+    public SimulationResult result(String id) {
+        Job job = jobs.get(id);
+        return job != null ? job.result : null;
+    }
+
+    // Cancels the job unless it has already finished, returns its status or null if it is unknown
+    public JobStatus cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        if (job.cancel(true)) {
+            executor.remove(job);
+        }
+        return job.status();
+    }
+
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // Time until a queue slot is likely to free up: the queued work spread over the workers
+    private long retryAfterSeconds() {
+        double millis = averageRunMillis * (queuedCount() + 1) / workers;
+        return Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, (long) Math.ceil(millis / 1000)));
+    }
+
+    private void finished(Job job) {
+        finished.add(job.id);
+        if (finishedCount.incrementAndGet() > maxFinished) {
+            String oldest = finished.poll();
+            if (oldest != null) {
+                finishedCount.decrementAndGet();
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    private final class Job extends FutureTask<SimulationResult> {
+        final String id;
+        final String algorithm;
+        final int processCount;
+        final long submittedNanos = System.nanoTime();
+        volatile long startedNanos;
+        volatile long finishedNanos;
+        volatile JobStatus.State finalState; // DONE, FAILED or CANCELLED once the task is over
+        volatile SimulationResult result;
+        volatile String error;
+
+        Job(String id, String algorithm, int processCount, Callable<SimulationResult> task) {
+            super(task);
+            this.id = id;
+            this.algorithm = algorithm;
+            this.processCount = processCount;
+        }
+
+        @Override
+        public void run() {
+            if (!isDone()) {
+                startedNanos = System.nanoTime();
+            }
+            super.run();
+        }
+
+        // Called once the task completes, fails or is cancelled
+        @Override
+        protected void done() {
+            finishedNanos = System.nanoTime();
+            if (isCancelled()) {
+                finalState = JobStatus.State.CANCELLED;
+            } else {
+                try {
+                    result = get();
+                    finalState = JobStatus.State.DONE;
+                    double runMillis = (finishedNanos - startedNanos) / 1e6;
+                    averageRunMillis = averageRunMillis == 0 ? runMillis : 0.8 * averageRunMillis + 0.2 * runMillis;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+                    finalState = JobStatus.State.FAILED;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    finalState = JobStatus.State.FAILED;
+                }
+            }
+            finished(this);
+        }
+
+        JobStatus status() {
+            long now = System.nanoTime();
+            long started = startedNanos;
+            long ended = finishedNanos;
+            double queueMillis = ((started != 0 ? started : ended != 0 ? ended : now) - submittedNanos) / 1e6;
+            double runMillis = started != 0 ? ((ended != 0 ? ended : now) - started) / 1e6 : 0;
+            JobStatus.State state = finalState;
+            if (state == null) {
+                state = started != 0 ? JobStatus.State.RUNNING : JobStatus.State.QUEUED;
+            }
+            return new JobStatus(id, state, algorithm, processCount, queueMillis, runMillis, error);
+        }
+    }
+}
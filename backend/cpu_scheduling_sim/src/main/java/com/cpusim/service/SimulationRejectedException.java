@@ -0,0 +1,20 @@
+// Thrown when the cost model predicts that a simulation would never finish or would cost more than allowed
+
+package com.cpusim.service;
+
+import com.cpusim.model.CostEstimate;
+
+public class SimulationRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CostEstimate estimate;
+
+    public SimulationRejectedException(CostEstimate estimate) {
+        super("Simulation rejected: " + estimate.getReason());
+        this.estimate = estimate;
+    }
+
+    public CostEstimate getEstimate() {
+        return estimate;
+    }
+}
@@ -1,125 +1,469 @@
 /*
     Handles logic for our Spring Boot REST API endpoints.
+    Processes and the last result live in per-session workspaces (see WorkspaceStore), every method that
+    uses them takes the session id sent by the client.
+    Plain simulations and quiz grading go through a content-addressed ResultCache, so repeating them with
+    the same processes doesn't run the scheduler again.
+    Every run is priced by the SimulationCostModel first: runs that would never finish or cost too much are
+    refused with SimulationRejectedException, and the estimate decides whether a job runs inline.
  */
 
 package com.cpusim.service;
 
+import com.cpusim.experiment.MonteCarloExperiment;
+import com.cpusim.experiment.WorkloadGenerator;
+import com.cpusim.io.TraceWriter;
+import com.cpusim.io.WorkloadFiles;
+import com.cpusim.model.AlgorithmComparison;
+import com.cpusim.model.CacheStats;
+import com.cpusim.model.ComparisonResult;
+import com.cpusim.model.CostAccuracy;
+import com.cpusim.model.CostEstimate;
+import com.cpusim.model.ExperimentResult;
+import com.cpusim.model.JobStatus;
+import com.cpusim.model.MultiCoreResult;
 import com.cpusim.model.Process;
+import com.cpusim.model.QuantumSweepResult;
 import com.cpusim.model.QuizData;
 import com.cpusim.model.QuizResult;
 import com.cpusim.model.QuizSubmission;
 import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineBuffer;
+import com.cpusim.model.Workload;
 import com.cpusim.scheduling.*;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.annotation.PreDestroy;
 
 @Service
-public class SimulationService {
+public class SimulationService implements AutoCloseable {
+
+    private static final String[] ALGORITHMS = { "fcfs", "sjf", "srtf", "pp", "rr" };
+
+    // At most 10k sessions holding 16M processes and 256 MB of last results between them, idle sessions are
+    // dropped after 30 minutes
+    private static final int MAX_WORKSPACES = 10_000;
+    private static final long MAX_TOTAL_PROCESSES = 16_000_000;
+    private static final long MAX_RESULT_BYTES = 256L << 20;
+    // Upload size for a session's full process budget: a CSV row of four 10-digit ints with separators and a
+    // CRLF takes under 48 bytes, the rest is room for a header, comments and padding
+    private static final long MAX_IMPORT_BYTES = 64 * MAX_TOTAL_PROCESSES;
+    private static final Duration WORKSPACE_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final long DEFAULT_CACHE_MAX_BYTES = 64L << 20;
+    // Quizzes kept ready, and handed out quizzes whose answers are remembered until they are submitted,
+    // or until they are the oldest past the limit
+    private static final int QUIZ_POOL_SIZE = 256;
+    private static final int MAX_ISSUED_QUIZZES = 10_000;
+    private static final int DEFAULT_JOB_MAX_QUEUED = 32;
+    private static final int MAX_FINISHED_JOBS = 256;
 
-    private final List<Process> processes = new ArrayList<>();
-    private SimulationResult lastResult;
-    private final Random random = new Random();
+    private final WorkspaceStore workspaces;
+    private final ResultCache resultCache;
+    private final QuizPool quizPool;
+    private final SimulationJobs jobs;
+    private final SimulationCostModel costModel;
 
-    public void addProcess(Process process) {
-        processes.add(process);
+    public SimulationService() {
+        this(DEFAULT_CACHE_MAX_BYTES);
     }
 
-    public List<Process> getProcesses() {
-        return processes;
+    public SimulationService(long cacheMaxBytes) {
+        this(cacheMaxBytes, 0, DEFAULT_JOB_MAX_QUEUED, SimulationCostModel.DEFAULT_SYNC_MAX_MILLIS,
+                SimulationCostModel.DEFAULT_MAX_MILLIS, SimulationCostModel.DEFAULT_MAX_EVENTS);
     }
 
-    public void clearProcesses() {
-        processes.clear();
+    /**
+     * Limits from application.properties.
+     *
+     * @param cacheMaxBytes cpusim.cache.max-bytes bounds the result cache, 0 turns it off
+     * @param jobWorkers    cpusim.jobs.workers is the number of jobs that run at once, 0 for one per CPU
+     * @param jobMaxQueued  cpusim.jobs.max-queued is the number of jobs that may wait, more are rejected
+     * @param syncMaxMillis cpusim.cost.sync-max-millis is the predicted run time up to which jobs run inline
+     * @param maxMillis     cpusim.cost.max-millis is the predicted run time beyond which runs are rejected
+     * @param maxEvents     cpusim.cost.max-events is the largest timeline a run may keep in memory
+     */
+    @Autowired
+    public SimulationService(
+            @Value("${cpusim.cache.max-bytes:" + DEFAULT_CACHE_MAX_BYTES + "}") long cacheMaxBytes,
+            @Value("${cpusim.jobs.workers:0}") int jobWorkers,
+            @Value("${cpusim.jobs.max-queued:" + DEFAULT_JOB_MAX_QUEUED + "}") int jobMaxQueued,
+            @Value("${cpusim.cost.sync-max-millis:" + SimulationCostModel.DEFAULT_SYNC_MAX_MILLIS + "}")
+            double syncMaxMillis,
+            @Value("${cpusim.cost.max-millis:" + SimulationCostModel.DEFAULT_MAX_MILLIS + "}") double maxMillis,
+            @Value("${cpusim.cost.max-events:" + SimulationCostModel.DEFAULT_MAX_EVENTS + "}") long maxEvents) {
+        this(new WorkspaceStore(MAX_WORKSPACES, MAX_TOTAL_PROCESSES, MAX_RESULT_BYTES, WORKSPACE_IDLE_TIMEOUT),
+                new ResultCache(cacheMaxBytes),
+                new SimulationJobs(jobWorkers > 0 ? jobWorkers : Runtime.getRuntime().availableProcessors(),
+                        jobMaxQueued, MAX_FINISHED_JOBS),
+                new SimulationCostModel(syncMaxMillis, maxMillis, maxEvents));
     }
 
-    public SimulationResult runSimulation(String algorithm, int quantum) {
-        Scheduler scheduler = switch (algorithm.toLowerCase()) {
-            case "fcfs" -> new FCFSScheduler();
-            case "sjf" -> new SJFScheduler();
-            case "srtf" -> new SRTFScheduler();
-            case "pp", "priority" -> new PPScheduler();
-            case "rr", "roundrobin" -> new RRScheduler(quantum);
-            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
-        };
+    public SimulationService(WorkspaceStore workspaces, ResultCache resultCache) {
+        this(workspaces, resultCache, new SimulationJobs(Runtime.getRuntime().availableProcessors(),
+                DEFAULT_JOB_MAX_QUEUED, MAX_FINISHED_JOBS));
+    }
 
-        lastResult = scheduler.schedule(new ArrayList<>(processes));
-        return lastResult;
+    public SimulationService(WorkspaceStore workspaces, ResultCache resultCache, SimulationJobs jobs) {
+        this(workspaces, resultCache, jobs, new SimulationCostModel());
     }
 
-    public SimulationResult getLastResult() {
-        if (lastResult == null) {
-            throw new IllegalStateException("No simulation has been run yet.");
+    public SimulationService(WorkspaceStore workspaces, ResultCache resultCache, SimulationJobs jobs,
+            SimulationCostModel costModel) {
+        this.workspaces = workspaces;
+        this.resultCache = resultCache;
+        this.jobs = jobs;
+        this.costModel = costModel;
+        this.quizPool = new QuizPool(QUIZ_POOL_SIZE, MAX_ISSUED_QUIZZES, this::solveQuiz);
+    }
+
+    // Stops the quiz pool's producer thread and the job workers
+    @PreDestroy
+    @Override
+    public void close() {
+        quizPool.close();
+        jobs.close();
+    }
+
+    public void addProcess(String sessionId, Process process) {
+        workspaces.get(sessionId).addProcess(process);
+    }
+
+    // Replaces the session's processes in one step, so a concurrent simulation sees either the old or the
+    // new list and never half of it
+    public void setProcesses(String sessionId, List<Process> processes) {
+        workspaces.get(sessionId).setProcesses(processes);
+    }
+
+    /**
+     * Replaces the session's processes with a CSV or binary workload file (see WorkloadFiles). The upload is
+     * spooled to a temporary file so it can be memory-mapped instead of held on the heap.
+     *
+     * @return Number of processes imported
+     * @throws IllegalArgumentException if the upload is too big or not a valid workload file
+     */
+    public int importProcesses(String sessionId, InputStream upload) {
+        Workspace workspace = workspaces.get(sessionId);
+        Path file = null;
+        try {
+            file = Files.createTempFile("workload-", ".import");
+            copyLimited(upload, file, MAX_IMPORT_BYTES);
+            Workload workload = WorkloadFiles.read(file);
+            workspace.setWorkload(workload);
+            return workload.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not import workload", e);
+        } finally {
+            deleteQuietly(file);
         }
-        return lastResult;
     }
 
-    // Generate a random quiz with 4-10 processes and a random algorithm
-    public QuizData generateQuiz() {
-        String quizId = UUID.randomUUID().toString();
+    // Copies the upload to the file and gives up as soon as it passes maxBytes, so it can't fill the disk
+    private static void copyLimited(InputStream upload, Path file, long maxBytes) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int read;
+            while ((read = upload.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("Workload files are limited to " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    public List<Process> getProcesses(String sessionId) {
+        return workspaces.get(sessionId).getProcesses();
+    }
+
+    public void clearProcesses(String sessionId) {
+        workspaces.get(sessionId).clearProcesses();
+    }
+
+    // What runSimulation or submitJob would cost on the current processes, and how they would be routed
+    public CostEstimate estimateCost(String sessionId, String algorithm, int quantum) {
+        return costModel.estimate(workspaces.get(sessionId).getWorkload(), algorithmKey(algorithm), quantum, true);
+    }
+
+    // Predicted against measured run times of the simulations run so far
+    public List<CostAccuracy> getCostAccuracy() {
+        return costModel.accuracy();
+    }
+
+    /**
+     * Runs the simulation on the calling thread, whatever its estimate says about running it as a job.
+     *
+     * @throws SimulationRejectedException if the cost model rejects the run
+     */
+    public SimulationResult runSimulation(String sessionId, String algorithm, int quantum) {
+        Scheduler scheduler = createScheduler(algorithm, quantum);
+        Workspace workspace = workspaces.get(sessionId);
+        Workload workload = workspace.getWorkload();
+        CostEstimate estimate = admit(workload, algorithm, quantum, true);
+
+        SimulationResult result = simulateCached(scheduler, workload, SimulationOptions.FULL, estimate);
+        workspace.setLastResult(result);
+        return result;
+    }
+
+    /**
+     * Checks a streamed or traced run before its response starts, so a bad algorithm or a rejected run can
+     * still get an error status. The timeline limit doesn't apply since the events never stay in memory.
+     *
+     * @throws IllegalArgumentException    for an unknown algorithm
+     * @throws SimulationRejectedException if the cost model rejects the run
+     */
+    public CostEstimate admitStreamed(String sessionId, String algorithm, int quantum) {
+        return admit(workspaces.get(sessionId).getWorkload(), algorithm, quantum, false);
+    }
+
+    /**
+     * Starts the same simulation as runSimulation as a job and returns its status. The processes are captured
+     * when the job is submitted. Runs the cost model routes SYNC are simulated right away on the calling
+     * thread, the others wait for a worker; a finished job's result becomes the session's last result.
+     *
+     * @throws JobQueueFullException       if every worker is busy and the queue is full
+     * @throws SimulationRejectedException if the cost model rejects the run
+     */
+    public JobStatus submitJob(String sessionId, String algorithm, int quantum) {
+        Scheduler scheduler = createScheduler(algorithm, quantum);
+        Workspace workspace = workspaces.get(sessionId);
+        Workload workload = workspace.getWorkload();
+        CostEstimate estimate = admit(workload, algorithm, quantum, true);
+        return jobs.submit(scheduler.getName(), workload.size(), () -> {
+            SimulationResult result = simulateCached(scheduler, workload, SimulationOptions.FULL, estimate);
+            workspace.setLastResult(result);
+            return result;
+        }, estimate.getRoute() == CostEstimate.Route.SYNC);
+    }
+
+    // Null if the job is unknown or has been forgotten
+    public JobStatus getJob(String jobId) {
+        return jobs.status(jobId);
+    }
+
+    // Null unless the job is DONE
+    public SimulationResult getJobResult(String jobId) {
+        return jobs.result(jobId);
+    }
 
-        // Generate 4-10 random processes
-        int numProcesses = random.nextInt(7) + 4;
-        List<Process> quizProcesses = new ArrayList<>();
+    // Null if the job is unknown
+    public JobStatus cancelJob(String jobId) {
+        return jobs.cancel(jobId);
+    }
 
-        for (int i = 0; i < numProcesses; i++) {
-            int burstTime = random.nextInt(15) + 1; // 1-15 time units
-            int priority = random.nextInt(10) + 1; // 1-10 priority
-            int arrivalTime = random.nextInt(10); // 0-9 arrival time
+    // Runs the simulation and pushes the timeline to the sink chunk by chunk instead of keeping it.
+    // The returned result only has the metrics and is not stored as the last result.
+    public SimulationResult streamSimulation(String sessionId, String algorithm, int quantum, TimelineSink sink) {
+        Scheduler scheduler = createScheduler(algorithm, quantum);
+        Workload workload = workspaces.get(sessionId).getWorkload();
+        admit(workload, algorithm, quantum, false);
+        return scheduler.schedule(workload, SimulationOptions.streaming(sink));
+    }
 
-            quizProcesses.add(new Process(i + 1, burstTime, priority, arrivalTime));
+    /**
+     * Runs the simulation into a binary timeline trace (see TraceWriter) and copies the finished file to out.
+     * The trace is written to a temporary file as the scheduler runs, so the timeline is never held in memory.
+     */
+    public SimulationResult exportTrace(String sessionId, String algorithm, int quantum, OutputStream out) {
+        Scheduler scheduler = createScheduler(algorithm, quantum);
+        Workload workload = workspaces.get(sessionId).getWorkload();
+        admit(workload, algorithm, quantum, false);
+        Path file = null;
+        try {
+            file = Files.createTempFile("timeline-", ".trace");
+            SimulationResult result;
+            try (TraceWriter writer = TraceWriter.create(file, workload, scheduler.getName())) {
+                result = scheduler.schedule(workload, SimulationOptions.streaming(writer));
+                writer.finish();
+            }
+            Files.copy(file, out);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export timeline trace", e);
+        } finally {
+            deleteQuietly(file);
         }
+    }
+
+    /**
+     * Runs every algorithm on the current processes at the same time, one virtual thread each, so the
+     * comparison takes as long as the slowest algorithm rather than the sum of all of them. The processes
+     * are sorted into a single immutable Workload that all runs share.
+     */
+    public ComparisonResult compareAlgorithms(String sessionId, int quantum, boolean includeTimeline) {
+        long start = System.nanoTime();
+        Workload workload = workspaces.get(sessionId).getWorkload();
+        SimulationOptions options = includeTimeline ? SimulationOptions.FULL : SimulationOptions.METRICS_ONLY;
 
-        // Sort processes by arrival time to ensure P1 arrives before or at the same
-        // time as P2, etc.
-        // Makes the process table easier to read and understand
-        quizProcesses.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        // Reassign PIDs after sorting so they're in order (1, 2, 3, ...)
-        for (int i = 0; i < quizProcesses.size(); i++) {
-            Process oldProcess = quizProcesses.get(i);
-            quizProcesses.set(i, new Process(
-                    i + 1, // new PID in sorted order
-                    oldProcess.getBurstTime(),
-                    oldProcess.getPriority(),
-                    oldProcess.getArrivalTime()));
+        for (String algorithm : ALGORITHMS) {
+            admit(workload, algorithm, quantum, includeTimeline);
         }
 
-        // Select a random algorithm
-        String[] algorithms = { "fcfs", "sjf", "srtf", "pp", "rr" };
-        String selectedAlgorithm = algorithms[random.nextInt(algorithms.length)];
-
-        // Generate a random quantum for RR (2-6)
-        Integer quantum = selectedAlgorithm.equals("rr") ? random.nextInt(5) + 2 : null;
-
-        // Map algorithm codes to display names
-        String displayName = switch (selectedAlgorithm) {
-            case "fcfs" -> "First Come First Served (FCFS)";
-            case "sjf" -> "Shortest Job First (SJF)";
-            case "srtf" -> "Shortest Remaining Time First (SRTF)";
-            case "pp" -> "Preemptive Priority (PP)";
-            case "rr" -> "Round Robin (RR)";
-            default -> selectedAlgorithm;
-        };
+        List<Future<AlgorithmComparison>> futures = new ArrayList<>(ALGORITHMS.length);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String algorithm : ALGORITHMS) {
+                Scheduler scheduler = createScheduler(algorithm, quantum);
+                futures.add(executor.submit(() -> {
+                    long runStart = System.nanoTime();
+                    SimulationResult result = scheduler.schedule(workload, options);
+                    return new AlgorithmComparison(algorithm, scheduler.getName(),
+                            (System.nanoTime() - runStart) / 1e6, result);
+                }));
+            }
 
-        QuizData quizData = new QuizData(quizId, quizProcesses, selectedAlgorithm, displayName, quantum);
+            List<AlgorithmComparison> comparisons = new ArrayList<>(futures.size());
+            for (Future<AlgorithmComparison> future : futures) {
+                comparisons.add(future.get());
+            }
+            return new ComparisonResult(workload.size(), (System.nanoTime() - start) / 1e6, comparisons);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Comparison failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Comparison was interrupted", e);
+        }
+    }
 
-        return quizData;
+    // Round Robin metrics for a range of quanta on the current processes. With refine, only a coarse grid
+    // and the neighbourhood of its best quantum are evaluated instead of every quantum in the range.
+    // The cost model prices all the runs together and rejects the sweep if they are too expensive.
+    public QuantumSweepResult sweepQuantum(String sessionId, int minQuantum, int maxQuantum, boolean refine,
+            int coarsePoints) {
+        Workload workload = workspaces.get(sessionId).getWorkload();
+        admit(costModel.estimateRoundRobinRuns(workload,
+                QuantumSweep.plannedQuanta(minQuantum, maxQuantum, refine, coarsePoints)));
+        QuantumSweep sweep = new QuantumSweep(workload);
+        return refine ? sweep.refine(minQuantum, maxQuantum, coarsePoints) : sweep.sweep(minQuantum, maxQuantum);
     }
 
-    // Check quiz answers and return results (stateless - no need for activeQuizzes)
-    public QuizResult checkQuizAnswers(QuizSubmission submission) {
-        // Run the simulation with the submitted quiz data
-        Scheduler scheduler = switch (submission.getAlgorithm().toLowerCase()) {
+    // Runs every algorithm on the given number of random quiz-sized workloads and aggregates the metrics.
+    // Without a seed a random one is picked; it is part of the result so the run can be reproduced.
+    public ExperimentResult runExperiment(int replications, Long seed, int quantum) {
+        long experimentSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        return new MonteCarloExperiment(WorkloadGenerator.QUIZ, quantum).run(replications, experimentSeed);
+    }
+
+    // Runs the algorithm on the current processes with several simulated cores, unless the cost model rejects it
+    public MultiCoreResult runMultiCore(String sessionId, String algorithm, int quantum, MultiCoreOptions options,
+            boolean includeTimeline) {
+        Workload workload = workspaces.get(sessionId).getWorkload();
+        admit(costModel.estimateMultiCore(workload, algorithmKey(algorithm), quantum, options, includeTimeline));
+        MultiCoreSimulator simulator = new MultiCoreSimulator(algorithm, quantum, options);
+        return simulator.simulate(workload,
+                includeTimeline ? SimulationOptions.FULL : new SimulationOptions(false, true));
+    }
+
+    public CacheStats getCacheStats() {
+        return resultCache.stats();
+    }
+
+    // Runs the scheduler unless the result is cached. Only actual runs are timed and recorded against the
+    // estimate, cache hits would make the model look far too pessimistic.
+    private SimulationResult simulateCached(Scheduler scheduler, Workload workload, SimulationOptions options,
+            CostEstimate estimate) {
+        ResultCache.Key key = ResultCache.key(workload, scheduler.getName(), options);
+        return resultCache.get(key, () -> {
+            long start = System.nanoTime();
+            SimulationResult result = scheduler.schedule(workload, options);
+            TimelineBuffer timeline = result.timelineBuffer();
+            costModel.record(estimate, System.nanoTime() - start,
+                    timeline != null ? timeline.size() : result.getTimeline().size());
+            return result;
+        });
+    }
+
+    // Estimates the run and throws if the cost model rejects it
+    private CostEstimate admit(Workload workload, String algorithm, int quantum, boolean recordTimeline) {
+        return admit(costModel.estimate(workload, algorithmKey(algorithm), quantum, recordTimeline));
+    }
+
+    private static CostEstimate admit(CostEstimate estimate) {
+        if (estimate.getRoute() == CostEstimate.Route.REJECT) {
+            throw new SimulationRejectedException(estimate);
+        }
+        return estimate;
+    }
+
+    private Scheduler createScheduler(String algorithm, int quantum) {
+        return switch (algorithmKey(algorithm)) {
             case "fcfs" -> new FCFSScheduler();
             case "sjf" -> new SJFScheduler();
             case "srtf" -> new SRTFScheduler();
             case "pp" -> new PPScheduler();
-            case "rr" -> new RRScheduler(submission.getQuantum());
-            default -> throw new IllegalArgumentException("Unknown algorithm: " + submission.getAlgorithm());
+            default -> new RRScheduler(quantum);
         };
+    }
+
+    // One key per algorithm, whichever of its names the client used
+    private static String algorithmKey(String algorithm) {
+        return switch (algorithm.toLowerCase()) {
+            case "fcfs", "sjf", "srtf", "pp", "rr" -> algorithm.toLowerCase();
+            case "priority" -> "pp";
+            case "roundrobin" -> "rr";
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        };
+    }
 
-        SimulationResult actualResult = scheduler.schedule(new ArrayList<>(submission.getProcesses()));
+    public SimulationResult getLastResult(String sessionId) {
+        SimulationResult lastResult = workspaces.get(sessionId).getLastResult();
+        if (lastResult == null) {
+            throw new IllegalStateException("No simulation has been run yet.");
+        }
+        return lastResult;
+    }
+
+    // Hands out a quiz from the pre-generated pool
+    public QuizData generateQuiz() {
+        return quizPool.take();
+    }
+
+    // Check quiz answers and return results (stateless - no need for activeQuizzes)
+    public QuizResult checkQuizAnswers(QuizSubmission submission) {
+        return checkQuizAnswers(submission, true);
+    }
+
+    // Grading only needs the three metrics, so the timeline is only recorded when the caller wants
+    // to show it alongside the results
+    public QuizResult checkQuizAnswers(QuizSubmission submission, boolean includeTimeline) {
+        // Quizzes handed out by generateQuiz already have their answer
+        SimulationResult actualResult = quizPool.answer(submission);
+        if (actualResult != null) {
+            actualResult = includeTimeline ? actualResult : actualResult.metricsOnly();
+        } else {
+            actualResult = simulateQuiz(submission, includeTimeline);
+        }
 
         // Check answers with tolerance for floating point (0.01 margin of error)
         boolean contextSwitchesCorrect = submission.getUserContextSwitches() == actualResult.getTotalContextSwitches();
@@ -137,4 +481,21 @@ public class SimulationService {
                 submission.getUserAverageWaitingTime(),
                 submission.getUserAverageTurnaroundTime());
     }
+
+    // Run the simulation with the submitted quiz data
+    private SimulationResult simulateQuiz(QuizSubmission submission, boolean includeTimeline) {
+        SimulationOptions options = includeTimeline ? SimulationOptions.FULL : SimulationOptions.METRICS_ONLY;
+        Workload workload = Workload.of(submission.getProcesses());
+        // A missing quantum is rejected by the cost model for rr like any other quantum below 1
+        int quantum = submission.getQuantum() != null ? submission.getQuantum() : 0;
+        CostEstimate estimate = admit(workload, submission.getAlgorithm(), quantum, includeTimeline);
+        Scheduler scheduler = createScheduler(submission.getAlgorithm(), quantum);
+        return simulateCached(scheduler, workload, options, estimate);
+    }
+
+    // Full result of a freshly generated quiz, for the quiz pool
+    private SimulationResult solveQuiz(QuizData quiz) {
+        Scheduler scheduler = createScheduler(quiz.getAlgorithm(), quiz.getQuantum() != null ? quiz.getQuantum() : 0);
+        return scheduler.schedule(Workload.of(quiz.getProcesses()));
+    }
 }
@@ -0,0 +1,141 @@
+/*
+    The processes and last result of one client session.
+    Every request only locks its own workspace, so sessions never wait on each other. The sorted Workload is
+    built once per process list and shared by all simulations until the processes change. Bulk imports set the
+    Workload directly and only turn it into Process objects if the session edits or lists its processes.
+ */
+
+package com.cpusim.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cpusim.model.Process;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+
+public final class Workspace {
+    private final WorkspaceStore store;
+    private final String id;
+
+    private List<Process> processes = new ArrayList<>(); // null while an imported workload is the source
+    private Workload workload; // Built from the processes, null after one is added until the next run
+    private boolean evicted;
+
+    private volatile SimulationResult lastResult;
+    private long lastResultBytes; // Estimated size of the last result, counted in the store
+    private volatile long lastAccess;
+
+    Workspace(WorkspaceStore store, String id, long now) {
+        this.store = store;
+        this.id = id;
+        this.lastAccess = now;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setProcesses(List<Process> newProcesses) {
+        // Built up front so invalid processes are refused here rather than on the next run
+        Workload newWorkload = Workload.of(newProcesses);
+        synchronized (this) {
+            checkCapacity(newProcesses.size());
+            int delta = newProcesses.size() - size();
+            processes = new ArrayList<>(newProcesses);
+            workload = newWorkload;
+            if (!evicted) {
+                store.addWeight(delta);
+            }
+        }
+        // Outside the lock, eviction locks other workspaces
+        store.evictIfNeeded();
+    }
+
+    // Replaces the processes with an already built workload, e.g. from a bulk import
+    public void setWorkload(Workload newWorkload) {
+        synchronized (this) {
+            checkCapacity(newWorkload.size());
+            int delta = newWorkload.size() - size();
+            processes = null;
+            workload = newWorkload;
+            if (!evicted) {
+                store.addWeight(delta);
+            }
+        }
+        store.evictIfNeeded();
+    }
+
+    public void addProcess(Process process) {
+        Workload.checkProcess(process.getPid(), process.getBurstTime(), process.getArrivalTime());
+        synchronized (this) {
+            checkCapacity(size() + 1);
+            if (processes == null) {
+                processes = workload.toProcesses();
+            }
+            processes.add(process);
+            workload = null;
+            if (!evicted) {
+                store.addWeight(1);
+            }
+        }
+        store.evictIfNeeded();
+    }
+
+    public void clearProcesses() {
+        setProcesses(List.of());
+    }
+
+    public synchronized List<Process> getProcesses() {
+        return processes != null ? List.copyOf(processes) : workload.toProcesses();
+    }
+
+    public synchronized Workload getWorkload() {
+        if (workload == null) {
+            workload = Workload.of(processes);
+        }
+        return workload;
+    }
+
+    public SimulationResult getLastResult() {
+        return lastResult;
+    }
+
+    public void setLastResult(SimulationResult lastResult) {
+        synchronized (this) {
+            long bytes = lastResult != null ? ResultCache.estimateBytes(lastResult) : 0;
+            if (!evicted) {
+                store.addResultBytes(bytes - lastResultBytes);
+            }
+            lastResultBytes = bytes;
+            this.lastResult = lastResult;
+        }
+        store.evictIfNeeded();
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    // Marks the workspace as removed from the store and takes back the weight it held there
+    synchronized void evict() {
+        evicted = true;
+        store.addWeight(-size());
+        store.addResultBytes(-lastResultBytes);
+    }
+
+    private int size() {
+        return processes != null ? processes.size() : workload.size();
+    }
+
+    private void checkCapacity(int size) {
+        if (size > store.getMaxProcessesPerWorkspace()) {
+            throw new IllegalArgumentException("A session holds at most " + store.getMaxProcessesPerWorkspace()
+                    + " processes, got " + size);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+    Bounded store of per-session workspaces, keyed by the id clients send in the X-Session-Id header.
+    Lookups go through a ConcurrentHashMap, so requests of different sessions never share a lock.
+    Memory is capped three ways: the number of workspaces, the total number of processes over all workspaces,
+    and the estimated bytes of their last results. Results are weighed separately because their timelines
+    grow with the number of events, not processes: Round Robin with quantum 1 records about one event per
+    tick of burst. When any limit is exceeded the least recently used workspaces are evicted. Workspaces
+    idle for longer than the idle timeout are dropped by a sweep that piggybacks on lookups, so there is no
+    background thread.
+ */
+
+package com.cpusim.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+public final class WorkspaceStore {
+    // Used by clients that don't send a session id, so they keep the old shared behaviour
+    public static final String DEFAULT_ID = "default";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    // Evicting down to this fraction of the limit means the next overflow is a while away
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final int maxWorkspaces;
+    private final long maxTotalProcesses;
+    private final long maxResultBytes;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, Workspace> workspaces = new ConcurrentHashMap<>();
+    private final AtomicLong totalProcesses = new AtomicLong();
+    private final AtomicLong totalResultBytes = new AtomicLong();
+    private final AtomicLong lastSweep;
+    // Only one thread evicts at a time, the others carry on instead of waiting
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // No limit on the size of the last results
+    public WorkspaceStore(int maxWorkspaces, long maxTotalProcesses, Duration idleTimeout) {
+        this(maxWorkspaces, maxTotalProcesses, Long.MAX_VALUE, idleTimeout, System::nanoTime);
+    }
+
+    public WorkspaceStore(int maxWorkspaces, long maxTotalProcesses, Duration idleTimeout, LongSupplier nanoClock) {
+        this(maxWorkspaces, maxTotalProcesses, Long.MAX_VALUE, idleTimeout, nanoClock);
+    }
+
+    public WorkspaceStore(int maxWorkspaces, long maxTotalProcesses, long maxResultBytes, Duration idleTimeout) {
+        this(maxWorkspaces, maxTotalProcesses, maxResultBytes, idleTimeout, System::nanoTime);
+    }
+
+    /**
+     * @param maxResultBytes Estimated bytes of all last results together (see ResultCache.estimateBytes)
+     * @param nanoClock      Source of the current time in nanoseconds, System::nanoTime outside of tests
+     */
+    public WorkspaceStore(int maxWorkspaces, long maxTotalProcesses, long maxResultBytes, Duration idleTimeout,
+            LongSupplier nanoClock) {
+        if (maxWorkspaces < 1) {
+            throw new IllegalArgumentException("Need room for at least 1 workspace, got " + maxWorkspaces);
+        }
+        if (maxTotalProcesses < 1) {
+            throw new IllegalArgumentException("Need room for at least 1 process, got " + maxTotalProcesses);
+        }
+        if (maxResultBytes < 0) {
+            throw new IllegalArgumentException("Result budget must not be negative, got " + maxResultBytes);
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive, got " + idleTimeout);
+        }
+        this.maxWorkspaces = maxWorkspaces;
+        this.maxTotalProcesses = maxTotalProcesses;
+        this.maxResultBytes = maxResultBytes;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.lastSweep = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Returns the session's workspace, creating it if needed.
+     *
+     * @param id Session id, or null/blank for the shared default workspace
+     */
+    public Workspace get(String id) {
+        String key = id == null || id.isBlank() ? DEFAULT_ID : id;
+        if (!VALID_ID.matcher(key).matches()) {
+            throw new IllegalArgumentException(
+                    "Session id must be 1-64 letters, digits, '-' or '_', got '" + key + "'");
+        }
+        long now = nanoClock.getAsLong();
+        sweepIfDue(now);
+
+        Workspace workspace = workspaces.get(key);
+        if (workspace == null) {
+            workspace = workspaces.computeIfAbsent(key, k -> new Workspace(this, k, now));
+            evictIfNeeded();
+        }
+        workspace.touch(now);
+        return workspace;
+    }
+
+    public int size() {
+        return workspaces.size();
+    }
+
+    public long getTotalProcesses() {
+        return totalProcesses.get();
+    }
+
+    public long getTotalResultBytes() {
+        return totalResultBytes.get();
+    }
+
+    // A single workspace may use the whole process budget
+    public long getMaxProcessesPerWorkspace() {
+        return maxTotalProcesses;
+    }
+
+    void addWeight(int delta) {
+        totalProcesses.addAndGet(delta);
+    }
+
+    void addResultBytes(long delta) {
+        totalResultBytes.addAndGet(delta);
+    }
+
+    // Evicts least recently used workspaces while any limit is exceeded
+    void evictIfNeeded() {
+        if (!overLimit() || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            removeIdle(nanoClock.getAsLong());
+            if (!overLimit()) {
+                return;
+            }
+            List<Workspace> byAge = new ArrayList<>(workspaces.values());
+            byAge.sort(Comparator.comparingLong(Workspace::getLastAccess));
+            int targetWorkspaces = (int) (maxWorkspaces * EVICTION_TARGET);
+            long targetProcesses = (long) (maxTotalProcesses * EVICTION_TARGET);
+            long targetResultBytes = (long) (maxResultBytes * EVICTION_TARGET);
+            // The most recently used workspace is the one that caused the overflow and always stays
+            for (int i = 0; i < byAge.size() - 1; i++) {
+                if (workspaces.size() <= targetWorkspaces && totalProcesses.get() <= targetProcesses
+                        && totalResultBytes.get() <= targetResultBytes) {
+                    break;
+                }
+                remove(byAge.get(i));
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean overLimit() {
+        return workspaces.size() > maxWorkspaces || totalProcesses.get() > maxTotalProcesses
+                || totalResultBytes.get() > maxResultBytes;
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        // Sweeping every quarter of the timeout keeps idle workspaces at most 25% past it
+        if (now - last < idleTimeoutNanos / 4 || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        if (evictionLock.tryLock()) {
+            try {
+                removeIdle(now);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void removeIdle(long now) {
+        for (Workspace workspace : workspaces.values()) {
+            if (now - workspace.getLastAccess() > idleTimeoutNanos) {
+                remove(workspace);
+            }
+        }
+    }
+
+    private void remove(Workspace workspace) {
+        if (workspaces.remove(workspace.getId(), workspace)) {
+            workspace.evict();
+        }
+    }
+}
@@ -5,11 +5,16 @@
 
 package com.cpusim.simulation;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
+import com.cpusim.io.TraceWriter;
+import com.cpusim.io.WorkloadFiles;
 import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
 import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.Workload;
 import com.cpusim.scheduling.*;
 
 public class SimulationEngine {
@@ -17,6 +22,7 @@ public class SimulationEngine {
     private List<Process> processes;
     private Map<String, Scheduler> schedulers;
     private SimulationResult lastResult;
+    private Workload loadedWorkload; // Set by loadWorkload, used instead of the process list until it is edited
 
     public SimulationEngine() {
         this.processes = new ArrayList<>();
@@ -46,6 +52,7 @@ public class SimulationEngine {
         if (arrivalTime < 0 || burstTime <= 0) {
             throw new IllegalArgumentException("Invalid process parameters");
         }
+        materializeLoadedWorkload();
 
         // Check for duplicate PID, this shouldn't happen
         for (Process p : processes) {
@@ -54,7 +61,7 @@ public class SimulationEngine {
             }
         }
 
-        Process process = new Process(pid, arrivalTime, burstTime, priority);
+        Process process = new Process(pid, burstTime, priority, arrivalTime);
         processes.add(process);
         return process;
     }
@@ -67,13 +74,38 @@ public class SimulationEngine {
     }
 
     public List<Process> getProcesses() {
-        return new ArrayList<>(processes);
+        return loadedWorkload != null ? loadedWorkload.toProcesses() : new ArrayList<>(processes);
+    }
+
+    /**
+     * Replaces the processes with a CSV or binary workload file, see WorkloadFiles for the formats.
+     * The file is memory-mapped and parsed straight into a Workload that simulations use as is, so
+     * millions of processes load without creating a Process object each.
+     *
+     * @param file CSV or binary workload file
+     * @return Number of processes loaded
+     */
+    public int loadWorkload(Path file) throws IOException {
+        Workload workload = WorkloadFiles.read(file);
+        processes.clear();
+        lastResult = null;
+        loadedWorkload = workload;
+        return workload.size();
+    }
+
+    // Editing a loaded workload goes through the process list
+    private void materializeLoadedWorkload() {
+        if (loadedWorkload != null) {
+            processes = loadedWorkload.toProcesses();
+            loadedWorkload = null;
+        }
     }
 
     /**
      * Returns a process matching the passed PID
      */
     public Process getProcess(int pid) {
+        materializeLoadedWorkload();
         for (Process p : processes) {
             if (p.getPid() == pid) {
                 return p;
@@ -86,12 +118,14 @@ public class SimulationEngine {
      * Removes a process matching the passed PID
      */
     public boolean removeProcess(int pid) {
+        materializeLoadedWorkload();
         return processes.removeIf(p -> p.getPid() == pid);
     }
 
     public void clearProcesses() {
         processes.clear();
         lastResult = null;
+        loadedWorkload = null;
     }
 
     public List<String> getAvailableAlgorithms() {
@@ -106,10 +140,54 @@ public class SimulationEngine {
      * @return SimulationResult object containing all metrics and timeline
      */
     public SimulationResult runSimulation(String algorithmName, int quantum) {
-        if (processes.isEmpty()) {
+        return runSimulation(algorithmName, quantum, SimulationOptions.FULL);
+    }
+
+    /**
+     * Run a simulation with the specified algorithm, quantum and recording options.
+     * Use SimulationOptions.METRICS_ONLY when only the averages and context switch count are needed.
+     * 
+     * @param algorithmName Algorithm identifier (FCFS, SJF, SRTF, PP, RR)
+     * @param quantum       Time quantum (only used for RR, ignored for others).
+     * @param options       What to record besides the aggregate metrics
+     * @return SimulationResult object containing the recorded metrics and timeline
+     */
+    public SimulationResult runSimulation(String algorithmName, int quantum, SimulationOptions options) {
+        Workload workload = currentWorkload();
+        Scheduler scheduler = scheduler(algorithmName, quantum);
+        lastResult = scheduler.schedule(workload, options);
+        return lastResult;
+    }
+
+    /**
+     * Run a simulation and archive its timeline as a binary trace file instead of keeping it in memory.
+     * The events are written while the scheduler runs; open the file with TraceReader to inspect them
+     * later without simulating again.
+     *
+     * @param algorithmName Algorithm identifier (FCFS, SJF, SRTF, PP, RR)
+     * @param quantum       Time quantum (only used for RR, ignored for others).
+     * @param file          Trace file to write, replaced if it exists
+     * @return SimulationResult with the metrics and an empty timeline
+     */
+    public SimulationResult runSimulationToTrace(String algorithmName, int quantum, Path file) throws IOException {
+        Workload workload = currentWorkload();
+        Scheduler scheduler = scheduler(algorithmName, quantum);
+        try (TraceWriter writer = TraceWriter.create(file, workload, scheduler.getName())) {
+            lastResult = scheduler.schedule(workload, SimulationOptions.streaming(writer));
+            writer.finish();
+        }
+        return lastResult;
+    }
+
+    private Workload currentWorkload() {
+        Workload workload = loadedWorkload != null ? loadedWorkload : Workload.of(processes);
+        if (workload.size() == 0) {
             throw new IllegalStateException("No processes to simulate");
         }
+        return workload;
+    }
 
+    private Scheduler scheduler(String algorithmName, int quantum) {
         Scheduler scheduler = schedulers.get(algorithmName.toUpperCase());
         if (scheduler == null) {
             throw new IllegalArgumentException("Unknown algorithm: " + algorithmName);
@@ -119,15 +197,7 @@ public class SimulationEngine {
         if (algorithmName.equalsIgnoreCase("RR")) {
             scheduler.setQuantum(quantum);
         }
-
-        List<Process> processCopy = new ArrayList<>();
-        for (Process p : processes) {
-            processCopy.add(new Process(p.getPid(), p.getArrivalTime(),
-                    p.getBurstTime(), p.getPriority()));
-        }
-
-        lastResult = scheduler.schedule(processCopy);
-        return lastResult;
+        return scheduler;
     }
 
     /**
@@ -256,6 +326,9 @@ public class SimulationEngine {
      * Validate process configuration before simulation
      */
     public boolean validateProcesses() {
+        if (loadedWorkload != null) {
+            return loadedWorkload.size() > 0; // Checked row by row while loading
+        }
         if (processes.isEmpty()) {
             return false;
         }
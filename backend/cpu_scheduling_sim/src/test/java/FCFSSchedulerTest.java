@@ -1,9 +1,11 @@
 import com.cpusim.scheduling.*;
 import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -100,4 +102,69 @@ class FCFSSchedulerTest {
         assertEquals(6, result.getCompletionTimes().get(1));
         assertEquals(8, result.getCompletionTimes().get(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamingMatchesBatchTimeline() {
+        // P1: arrival=0, burst=3
+        // P2: arrival=1, burst=2
+        // P3: arrival=5, burst=1
+        // P4: arrival=9, burst=2
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 3, 0, 0));
+        processes.add(new Process(2, 2, 0, 1));
+        processes.add(new Process(3, 1, 0, 5));
+        processes.add(new Process(4, 2, 0, 9));
+
+        SimulationResult batch = scheduler.schedule(processes);
+        List<TimelineEvent> streamed = new ArrayList<>();
+        SimulationResult streaming = scheduler.schedule(processes.iterator(), streamed::add);
+
+        assertEquals(batch.getTimeline().size(), streamed.size());
+        for (int i = 0; i < streamed.size(); i++) {
+            assertEquals(batch.getTimeline().get(i).toString(), streamed.get(i).toString());
+        }
+        assertEquals(batch.getAverageWaitingTime(), streaming.getAverageWaitingTime());
+        assertEquals(batch.getAverageTurnaroundTime(), streaming.getAverageTurnaroundTime());
+        assertEquals(batch.getTotalContextSwitches(), streaming.getTotalContextSwitches());
+    }
+
+    @Test
+    void testStreamingLongTrace() {
+        // 5,000,000 processes generated on the fly, one arriving every 2 time units with burst 1
+        int count = 5_000_000;
+        Iterator<Process> arrivals = new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Process next() {
+                next++;
+                return new Process(next, 1, 0, 2 * (next - 1));
+            }
+        };
+        int[] eventCount = new int[1];
+
+        SimulationResult result = scheduler.schedule(arrivals, event -> eventCount[0]++);
+
+        // Every process runs immediately and the CPU idles between processes
+        assertEquals(0.0, result.getAverageWaitingTime());
+        assertEquals(1.0, result.getAverageTurnaroundTime());
+        assertEquals(0, result.getTotalContextSwitches());
+        assertEquals(4 * count - 1, eventCount[0]); // arrival, start, finish, idle (except after the last)
+        assertTrue(result.getTimeline().isEmpty());
+    }
+
+    @Test
+    void testStreamingRejectsOutOfOrderArrivals() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 2, 0, 5));
+        processes.add(new Process(2, 2, 0, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(processes.iterator(), event -> {
+        }));
+    }
+}
@@ -0,0 +1,61 @@
+import com.cpusim.experiment.MetricAccumulator;
+import com.cpusim.model.MetricSummary;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricAccumulatorTest {
+
+    @Test
+    void testMeanVarianceAndInterval() {
+        MetricAccumulator accumulator = new MetricAccumulator();
+        for (double value : new double[] { 2, 4, 4, 4, 5, 5, 7, 9 }) {
+            accumulator.add(value);
+        }
+        MetricSummary summary = accumulator.summary();
+
+        assertEquals(8, summary.getCount());
+        assertEquals(5.0, summary.getMean(), 1e-12);
+        assertEquals(32.0 / 7, summary.getVariance(), 1e-12);
+        assertEquals(2, summary.getMin());
+        assertEquals(9, summary.getMax());
+        assertTrue(summary.getConfidenceLow() < 5 && summary.getConfidenceHigh() > 5);
+    }
+
+    @Test
+    void testMergeMatchesSingleAccumulator() {
+        Random random = new Random(1);
+        MetricAccumulator all = new MetricAccumulator();
+        MetricAccumulator left = new MetricAccumulator();
+        MetricAccumulator right = new MetricAccumulator();
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextDouble() * 100;
+            all.add(value);
+            (i % 3 == 0 ? left : right).add(value);
+        }
+        left.merge(right);
+
+        assertEquals(all.getCount(), left.getCount());
+        assertEquals(all.getMean(), left.getMean(), 1e-9);
+        assertEquals(all.getVariance(), left.getVariance(), 1e-6);
+        assertEquals(all.percentile(0.9), left.percentile(0.9));
+    }
+
+    @Test
+    void testPercentilesWithinOnePercent() {
+        Random random = new Random(2);
+        double[] values = new double[100_000];
+        MetricAccumulator accumulator = new MetricAccumulator();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2); // Spans several orders of magnitude
+            accumulator.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double fraction : new double[] { 0.5, 0.9, 0.99 }) {
+            double exact = values[(int) Math.ceil(fraction * values.length) - 1];
+            assertEquals(exact, accumulator.percentile(fraction), exact * 0.01, "p" + fraction);
+        }
+    }
+}
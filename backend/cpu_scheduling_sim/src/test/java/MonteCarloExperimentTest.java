@@ -0,0 +1,57 @@
+import com.cpusim.experiment.MonteCarloExperiment;
+import com.cpusim.experiment.WorkloadGenerator;
+import com.cpusim.model.AlgorithmStatistics;
+import com.cpusim.model.ExperimentResult;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.FCFSScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloExperimentTest {
+
+    @Test
+    void testSameSeedGivesSameResult() {
+        MonteCarloExperiment experiment = new MonteCarloExperiment(WorkloadGenerator.QUIZ, 2);
+        ExperimentResult first = experiment.run(5000, 42);
+        ExperimentResult second = experiment.run(5000, 42);
+        ExperimentResult other = experiment.run(5000, 43);
+
+        assertEquals(List.of("fcfs", "sjf", "srtf", "pp", "rr"),
+                first.getAlgorithms().stream().map(AlgorithmStatistics::getAlgorithm).toList());
+        for (int i = 0; i < first.getAlgorithms().size(); i++) {
+            assertEquals(first.getAlgorithms().get(i).getAverageWaitingTime().toString(),
+                    second.getAlgorithms().get(i).getAverageWaitingTime().toString());
+            assertEquals(5000, first.getAlgorithms().get(i).getAverageWaitingTime().getCount());
+        }
+        assertNotEquals(first.getAlgorithms().get(0).getAverageWaitingTime().getMean(),
+                other.getAlgorithms().get(0).getAverageWaitingTime().getMean());
+    }
+
+    @Test
+    void testMeanMatchesSequentialReplay() {
+        // One chunk: every workload comes from the first split of the seed, in order
+        ExperimentResult result = new MonteCarloExperiment(WorkloadGenerator.QUIZ, 2).run(500, 7);
+
+        SplittableRandom random = new SplittableRandom(7).split();
+        double total = 0;
+        for (int r = 0; r < 500; r++) {
+            Workload workload = WorkloadGenerator.QUIZ.generate(random);
+            SimulationResult simulation = new FCFSScheduler().schedule(workload);
+            total += simulation.getAverageWaitingTime();
+        }
+        assertEquals(total / 500, result.getAlgorithms().get(0).getAverageWaitingTime().getMean(), 1e-9);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloExperiment(WorkloadGenerator.QUIZ, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MonteCarloExperiment(WorkloadGenerator.QUIZ, 2).run(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloExperiment(WorkloadGenerator.QUIZ, 2)
+                .run(MonteCarloExperiment.MAX_REPLICATIONS + 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadGenerator(5, 4, 10, 10, 10));
+    }
+}
@@ -0,0 +1,103 @@
+import com.cpusim.model.CoreStats;
+import com.cpusim.model.GanttSegment;
+import com.cpusim.model.MultiCoreResult;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiCoreSimulatorTest {
+
+    private static Workload workload(int size, long seed) {
+        Random random = new Random(seed);
+        Workload.Builder builder = new Workload.Builder(size);
+        for (int pid = 1; pid <= size; pid++) {
+            builder.add(pid, random.nextInt(20) + 1, random.nextInt(5) + 1, random.nextInt(size * 5));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testSingleCoreMatchesSchedulers() {
+        String[] algorithms = { "fcfs", "sjf", "srtf", "pp", "rr" };
+        Scheduler[] schedulers = { new FCFSScheduler(), new SJFScheduler(), new SRTFScheduler(), new PPScheduler(),
+                new RRScheduler(3) };
+        MultiCoreOptions options = new MultiCoreOptions(1, MultiCoreOptions.Placement.LEAST_LOADED,
+                MultiCoreOptions.Balancer.NONE, 1);
+        for (long seed = 0; seed < 50; seed++) {
+            Workload workload = workload(40, seed);
+            for (int i = 0; i < algorithms.length; i++) {
+                SimulationResult expected = schedulers[i].schedule(workload);
+                MultiCoreResult actual = new MultiCoreSimulator(algorithms[i], 3, options)
+                        .simulate(workload, SimulationOptions.FULL);
+                assertEquals(expected.getAverageWaitingTime(), actual.getAverageWaitingTime(), algorithms[i]);
+                assertEquals(expected.getAverageTurnaroundTime(), actual.getAverageTurnaroundTime(), algorithms[i]);
+                assertEquals(expected.getTotalContextSwitches(), actual.getTotalContextSwitches(), algorithms[i]);
+                assertEquals(expected.getCompletionTimes(), actual.getCompletionTimes(), algorithms[i]);
+            }
+        }
+    }
+
+    @Test
+    void testCoresShareTheWork() {
+        Workload workload = workload(200, 3);
+        MultiCoreResult result = new MultiCoreSimulator("srtf", 2, new MultiCoreOptions(4))
+                .simulate(workload, SimulationOptions.FULL);
+
+        assertEquals(4, result.getCores().size());
+        assertEquals(200, result.getCompletionTimes().size());
+        long busyTime = 0;
+        int completed = 0;
+        for (CoreStats core : result.getCores()) {
+            assertTrue(core.getUtilization() <= 1.0, core.toString());
+            assertTrue(core.getCompletedProcesses() > 0, core.toString());
+            busyTime += core.getBusyTime();
+            completed += core.getCompletedProcesses();
+            // Segments on one core never overlap
+            List<GanttSegment> segments = core.getSegments();
+            for (int i = 1; i < segments.size(); i++) {
+                assertTrue(segments.get(i - 1).getEnd() <= segments.get(i).getStart());
+            }
+        }
+        assertEquals(200, completed);
+        long totalBurst = 0;
+        for (int slot = 0; slot < workload.size(); slot++) {
+            totalBurst += workload.burstTime(slot);
+        }
+        assertEquals(totalBurst, busyTime);
+    }
+
+    @Test
+    void testWorkStealing() {
+        // Everything arrives at once and round robin placement puts all the long jobs on core 0
+        Workload.Builder builder = new Workload.Builder(8);
+        for (int pid = 1; pid <= 8; pid++) {
+            builder.add(pid, pid % 2 == 1 ? 10 : 1, 1, 0);
+        }
+        Workload workload = builder.build();
+
+        MultiCoreResult pinned = new MultiCoreSimulator("fcfs", 2, new MultiCoreOptions(2,
+                MultiCoreOptions.Placement.ROUND_ROBIN, MultiCoreOptions.Balancer.NONE, 1))
+                .simulate(workload, SimulationOptions.METRICS_ONLY);
+        MultiCoreResult stealing = new MultiCoreSimulator("fcfs", 2, new MultiCoreOptions(2,
+                MultiCoreOptions.Placement.ROUND_ROBIN, MultiCoreOptions.Balancer.WORK_STEALING, 1))
+                .simulate(workload, SimulationOptions.METRICS_ONLY);
+
+        assertEquals(0, pinned.getSteals());
+        assertEquals(40, pinned.getMakespan());
+        assertTrue(stealing.getSteals() > 0);
+        assertTrue(stealing.getMakespan() < pinned.getMakespan());
+    }
+
+    @Test
+    void testInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiCoreOptions(0));
+        assertThrows(IllegalArgumentException.class, () -> new MultiCoreOptions(MultiCoreOptions.MAX_CORES + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiCoreSimulator("lottery", 2, new MultiCoreOptions(2)));
+        assertThrows(IllegalArgumentException.class, () -> new MultiCoreSimulator("rr", 0, new MultiCoreOptions(2)));
+    }
+}
@@ -102,4 +102,22 @@ class PPSchedulerTest {
         assertEquals(7.0, result.getAverageTurnaroundTime());
         assertEquals(0, result.getTotalContextSwitches());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testManyProcessesWithLongBursts() {
+        // 100,000 processes arriving one time unit apart, each with burst 1,000
+        // and a higher priority than the process before it
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            processes.add(new Process(i + 1, 1_000, 100_000 - i, i));
+        }
+
+        SimulationResult result = scheduler.schedule(processes);
+
+        // Every arrival preempts the running process, the last one finishes first
+        // and the rest resume in reverse arrival order
+        assertEquals(100_999, result.getCompletionTimes().get(100_000));
+        assertEquals(100_000_000, result.getCompletionTimes().get(1));
+        assertEquals(2 * 99_999, result.getTotalContextSwitches());
+    }
+}
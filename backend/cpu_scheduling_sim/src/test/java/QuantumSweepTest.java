@@ -0,0 +1,86 @@
+import com.cpusim.model.QuantumSweepPoint;
+import com.cpusim.model.QuantumSweepResult;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.QuantumSweep;
+import com.cpusim.scheduling.RRScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantumSweepTest {
+
+    private static Workload workload(int size) {
+        Random random = new Random(7);
+        Workload.Builder builder = new Workload.Builder(size);
+        for (int pid = 1; pid <= size; pid++) {
+            builder.add(pid, random.nextInt(40) + 1, random.nextInt(5) + 1, random.nextInt(size * 10));
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testSweepMatchesIndividualRuns() {
+        Workload workload = workload(300);
+        QuantumSweepResult result = new QuantumSweep(workload).sweep(1, 30);
+
+        assertEquals(30, result.getPoints().size());
+        for (int i = 0; i < 30; i++) {
+            QuantumSweepPoint point = result.getPoints().get(i);
+            assertEquals(i + 1, point.getQuantum());
+            SimulationResult expected = new RRScheduler(point.getQuantum()).schedule(workload);
+            assertEquals(expected.getAverageWaitingTime(), point.getAverageWaitingTime());
+            assertEquals(expected.getAverageTurnaroundTime(), point.getAverageTurnaroundTime());
+            assertEquals(expected.getTotalContextSwitches(), point.getContextSwitches());
+        }
+    }
+
+    @Test
+    void testRefineEvaluatesFewerQuanta() {
+        Workload workload = workload(300);
+        QuantumSweep sweep = new QuantumSweep(workload);
+        QuantumSweepResult full = sweep.sweep(1, 200);
+        QuantumSweepResult refined = sweep.refine(1, 200, 8);
+
+        assertTrue(refined.getPoints().size() < 40, refined.toString());
+        // Every refined point agrees with the full sweep, and the step ends at 1 around the best quantum
+        for (QuantumSweepPoint point : refined.getPoints()) {
+            QuantumSweepPoint expected = full.getPoints().get(point.getQuantum() - 1);
+            assertEquals(expected.getAverageWaitingTime(), point.getAverageWaitingTime());
+        }
+        int best = refined.getBestQuantum();
+        assertTrue(refined.getPoints().stream().anyMatch(p -> p.getQuantum() == Math.max(1, best - 1)));
+        assertTrue(refined.getPoints().stream().anyMatch(p -> p.getQuantum() == Math.min(200, best + 1)));
+    }
+
+    @Test
+    void testInvalidRange() {
+        QuantumSweep sweep = new QuantumSweep(workload(10));
+        assertThrows(IllegalArgumentException.class, () -> sweep.sweep(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> sweep.sweep(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> sweep.refine(1, 5, 1));
+        // Too many runs, and a range whose size does not fit in an int
+        assertThrows(IllegalArgumentException.class, () -> sweep.sweep(1, QuantumSweep.MAX_POINTS + 1));
+        assertThrows(IllegalArgumentException.class, () -> sweep.sweep(1, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> sweep.refine(1, 100, QuantumSweep.MAX_POINTS + 1));
+        assertEquals(QuantumSweep.MAX_POINTS, QuantumSweep.plannedQuanta(1, QuantumSweep.MAX_POINTS, false, 0).length);
+    }
+
+    @Test
+    void testPlannedQuantaCoverRefine() {
+        QuantumSweep sweep = new QuantumSweep(workload(300));
+        int planned = QuantumSweep.plannedQuanta(1, 1000, true, 8).length;
+        assertTrue(sweep.refine(1, 1000, 8).getPoints().size() <= planned);
+        // A refining sweep of the whole int range plans a few dozen runs, not billions
+        assertTrue(QuantumSweep.plannedQuanta(1, Integer.MAX_VALUE, true, 16).length < 200);
+    }
+
+    @Test
+    void testLargeWorkloadSweep() {
+        QuantumSweepResult result = new QuantumSweep(workload(10_000)).sweep(1, 100);
+        assertEquals(100, result.getPoints().size());
+        double lowestWaitingTime = result.getPoints().stream()
+                .mapToDouble(QuantumSweepPoint::getAverageWaitingTime).min().getAsDouble();
+        assertEquals(lowestWaitingTime, result.getPoints().get(result.getBestQuantum() - 1).getAverageWaitingTime());
+    }
+}
@@ -0,0 +1,150 @@
+import com.cpusim.model.Process;
+import com.cpusim.model.QuizData;
+import com.cpusim.model.QuizResult;
+import com.cpusim.model.QuizSubmission;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import com.cpusim.service.QuizPool;
+import com.cpusim.service.SimulationService;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizPoolTest {
+
+    private static Scheduler scheduler(QuizData quiz) {
+        return switch (quiz.getAlgorithm()) {
+            case "fcfs" -> new FCFSScheduler();
+            case "sjf" -> new SJFScheduler();
+            case "srtf" -> new SRTFScheduler();
+            case "pp" -> new PPScheduler();
+            default -> new RRScheduler(quiz.getQuantum());
+        };
+    }
+
+    private static SimulationResult solve(QuizData quiz) {
+        return scheduler(quiz).schedule(Workload.of(quiz.getProcesses()));
+    }
+
+    private static QuizSubmission submission(QuizData quiz, SimulationResult answer) {
+        return new QuizSubmission(quiz.getQuizId(), quiz.getProcesses(), quiz.getAlgorithm(), quiz.getQuantum(),
+                answer.getTotalContextSwitches(), answer.getAverageWaitingTime(), answer.getAverageTurnaroundTime());
+    }
+
+    @Test
+    void testPooledQuizzesCarryTheirAnswer() throws InterruptedException {
+        AtomicInteger solved = new AtomicInteger();
+        try (QuizPool pool = new QuizPool(8, 100, quiz -> {
+            solved.incrementAndGet();
+            return solve(quiz);
+        })) {
+            for (int i = 0; i < 100 && pool.readyCount() < 8; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(8, pool.readyCount());
+
+            Set<String> ids = new HashSet<>();
+            for (int i = 0; i < 20; i++) {
+                QuizData quiz = pool.take();
+                assertTrue(ids.add(quiz.getQuizId()));
+                assertTrue(quiz.getProcesses().size() >= 4 && quiz.getProcesses().size() <= 10);
+
+                SimulationResult expected = solve(quiz);
+                SimulationResult answer = pool.answer(submission(quiz, expected));
+                assertNotNull(answer);
+                assertEquals(expected.getAverageWaitingTime(), answer.getAverageWaitingTime());
+                assertEquals(expected.getTotalContextSwitches(), answer.getTotalContextSwitches());
+                assertEquals(expected.getTimeline().toString(), answer.getTimeline().toString());
+            }
+            assertTrue(solved.get() >= 20);
+        }
+    }
+
+    @Test
+    void testChangedOrUnknownSubmissionHasNoAnswer() {
+        try (QuizPool pool = new QuizPool(1, 1, QuizPoolTest::solve)) {
+            QuizData quiz = pool.take();
+            SimulationResult expected = solve(quiz);
+
+            List<Process> changed = new ArrayList<>(quiz.getProcesses());
+            Process first = changed.get(0);
+            changed.set(0, new Process(first.getPid(), first.getBurstTime() + 1, first.getPriority(),
+                    first.getArrivalTime()));
+            QuizSubmission altered = submission(quiz, expected);
+            altered.setProcesses(changed);
+            assertNull(pool.answer(altered));
+
+            QuizSubmission unknown = submission(quiz, expected);
+            unknown.setQuizId("unknown");
+            assertNull(pool.answer(unknown));
+
+            // Only one issued quiz is remembered
+            pool.take();
+            assertNull(pool.answer(submission(quiz, expected)));
+        }
+    }
+
+    @Test
+    void testSubmittedQuizIsForgotten() {
+        try (QuizPool pool = new QuizPool(1, 10, QuizPoolTest::solve)) {
+            QuizData quiz = pool.take();
+            SimulationResult expected = solve(quiz);
+            assertEquals(1, pool.issuedCount());
+
+            // A mismatched submission leaves the quiz for the real one
+            QuizSubmission altered = submission(quiz, expected);
+            altered.setAlgorithm("other");
+            assertNull(pool.answer(altered));
+            assertEquals(1, pool.issuedCount());
+
+            assertNotNull(pool.answer(submission(quiz, expected)));
+            assertEquals(0, pool.issuedCount());
+            assertNull(pool.answer(submission(quiz, expected)));
+        }
+    }
+
+    @Test
+    void testProducerSurvivesSolverFailure() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        try (QuizPool pool = new QuizPool(4, 10, quiz -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new IllegalStateException("solver failed");
+            }
+            return solve(quiz);
+        })) {
+            for (int i = 0; i < 200 && pool.readyCount() < 4; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(4, pool.readyCount());
+            assertTrue(calls.get() >= 6);
+        }
+    }
+
+    @Test
+    void testServiceGradesPooledQuiz() {
+        try (SimulationService service = new SimulationService()) {
+            QuizData quiz = service.generateQuiz();
+            SimulationResult expected = solve(quiz);
+
+            QuizResult withTimeline = service.checkQuizAnswers(submission(quiz, expected), true);
+            assertTrue(withTimeline.isContextSwitchesCorrect());
+            assertTrue(withTimeline.isAverageWaitingTimeCorrect());
+            assertTrue(withTimeline.isAverageTurnaroundTimeCorrect());
+            assertFalse(withTimeline.getActualResult().getTimeline().isEmpty());
+
+            // Same shape as a metrics-only simulation
+            QuizResult metricsOnly = service.checkQuizAnswers(submission(quiz, expected), false);
+            SimulationResult simulated = scheduler(quiz).schedule(Workload.of(quiz.getProcesses()),
+                    SimulationOptions.METRICS_ONLY);
+            assertEquals(simulated.getTimeline(), metricsOnly.getActualResult().getTimeline());
+            assertEquals(simulated.getSegments(), metricsOnly.getActualResult().getSegments());
+            assertEquals(simulated.getCompletionTimes(), metricsOnly.getActualResult().getCompletionTimes());
+            assertEquals(simulated.getAverageWaitingTime(), metricsOnly.getActualResult().getAverageWaitingTime());
+        }
+    }
+}
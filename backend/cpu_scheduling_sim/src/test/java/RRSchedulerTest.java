@@ -1,4 +1,5 @@
 import com.cpusim.scheduling.*;
+import com.cpusim.model.GanttSegment;
 import com.cpusim.model.Process;
 import com.cpusim.model.SimulationResult;
 import org.junit.jupiter.api.BeforeEach;
@@ -97,4 +98,48 @@ class RRSchedulerTest {
         assertEquals(6.0, result.getAverageTurnaroundTime());
         assertEquals(0, result.getTotalContextSwitches());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLongBurstsAndIdleGapsDoNotTick() {
+        // P1: arrival=0, burst=1,000,000,000
+        // P2: arrival=50,000,000, burst=100,000,000
+        // P3: arrival=2,000,000,000, burst=5
+        // Quantum=100,000,000
+        scheduler.setQuantum(100_000_000);
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 1_000_000_000, 0, 0));
+        processes.add(new Process(2, 100_000_000, 0, 50_000_000));
+        processes.add(new Process(3, 5, 0, 2_000_000_000));
+
+        SimulationResult result = scheduler.schedule(processes);
+
+        // P1: 0-100M, P2: 100M-200M, P1: 200M-1100M, idle, P3: 2000M-2000M+5
+        assertEquals(1_100_000_000, result.getCompletionTimes().get(1));
+        assertEquals(200_000_000, result.getCompletionTimes().get(2));
+        assertEquals(2_000_000_005, result.getCompletionTimes().get(3));
+        assertEquals(2, result.getTotalContextSwitches()); // P1->P2 at t=100M, P2->P1 at t=200M
+    }
+
+    @Test
+    void testSegmentsMergeConsecutiveSlices() {
+        // P1: arrival=0, burst=3
+        // P2: arrival=0, burst=1
+        // P3: arrival=10, burst=5
+        // Quantum=1
+        scheduler.setQuantum(1);
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 3, 0, 0));
+        processes.add(new Process(2, 1, 0, 0));
+        processes.add(new Process(3, 5, 0, 10));
+
+        SimulationResult result = scheduler.schedule(processes);
+
+        // P1: 0-1, P2: 1-2, P1: 2-4 (runs alone), idle, P3: 10-15 (runs alone)
+        List<GanttSegment> segments = result.getSegments();
+        assertEquals(4, segments.size());
+        assertEquals("P1 [0, 1)", segments.get(0).toString());
+        assertEquals("P2 [1, 2)", segments.get(1).toString());
+        assertEquals("P1 [2, 4)", segments.get(2).toString());
+        assertEquals("P3 [10, 15)", segments.get(3).toString());
+    }
+}
@@ -0,0 +1,121 @@
+import com.cpusim.model.CacheStats;
+import com.cpusim.model.Process;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import com.cpusim.service.ResultCache;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+
+    private static final Workload WORKLOAD = Workload.of(List.of(
+            new Process(1, 7, 3, 0),
+            new Process(2, 4, 1, 2),
+            new Process(3, 1, 2, 4)));
+
+    @Test
+    void testRepeatedRequestSkipsScheduler() {
+        ResultCache cache = new ResultCache(1 << 20);
+        Scheduler scheduler = new SRTFScheduler();
+        ResultCache.Key key = ResultCache.key(WORKLOAD, scheduler.getName(), SimulationOptions.FULL);
+        AtomicInteger runs = new AtomicInteger();
+
+        SimulationResult first = cache.get(key, () -> {
+            runs.incrementAndGet();
+            return scheduler.schedule(WORKLOAD);
+        });
+        // Same content from a freshly built workload finds the cached result
+        ResultCache.Key sameKey = ResultCache.key(Workload.of(WORKLOAD.toProcesses()), scheduler.getName(),
+                SimulationOptions.FULL);
+        SimulationResult second = cache.get(sameKey, () -> {
+            runs.incrementAndGet();
+            return scheduler.schedule(WORKLOAD);
+        });
+
+        assertSame(first, second);
+        assertEquals(1, runs.get());
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+        assertEquals(1, stats.getEntries());
+    }
+
+    @Test
+    void testKeyCoversAlgorithmQuantumAndOptions() {
+        ResultCache.Key rr2 = ResultCache.key(WORKLOAD, new RRScheduler(2).getName(), SimulationOptions.FULL);
+        assertEquals(rr2, ResultCache.key(WORKLOAD, new RRScheduler(2).getName(), SimulationOptions.FULL));
+        assertNotEquals(rr2, ResultCache.key(WORKLOAD, new RRScheduler(3).getName(), SimulationOptions.FULL));
+        assertNotEquals(rr2, ResultCache.key(WORKLOAD, new FCFSScheduler().getName(), SimulationOptions.FULL));
+        assertNotEquals(rr2, ResultCache.key(WORKLOAD, new RRScheduler(2).getName(), SimulationOptions.METRICS_ONLY));
+
+        Workload changed = Workload.of(List.of(
+                new Process(1, 7, 3, 0),
+                new Process(2, 4, 1, 2),
+                new Process(3, 2, 2, 4)));
+        assertNotEquals(rr2, ResultCache.key(changed, new RRScheduler(2).getName(), SimulationOptions.FULL));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        Scheduler scheduler = new FCFSScheduler();
+        SimulationResult result = scheduler.schedule(WORKLOAD);
+        ResultCache.Key[] keys = new ResultCache.Key[3];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ResultCache.key(WORKLOAD, "scheduler " + i, SimulationOptions.FULL);
+        }
+
+        // Room for two results
+        ResultCache probe = new ResultCache(1 << 20);
+        probe.get(keys[0], () -> result);
+        long entryBytes = probe.stats().getBytes();
+        ResultCache cache = new ResultCache(2 * entryBytes);
+
+        cache.get(keys[0], () -> result);
+        cache.get(keys[1], () -> result);
+        cache.get(keys[0], () -> result); // keys[1] is now the least recently used
+        cache.get(keys[2], () -> result);
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getEntries());
+        assertEquals(1, stats.getEvictions());
+        assertTrue(stats.getBytes() <= stats.getMaxBytes());
+        long hits = stats.getHits();
+        cache.get(keys[0], () -> result);
+        assertEquals(hits + 1, cache.stats().getHits());
+        cache.get(keys[1], () -> result);
+        assertEquals(hits + 1, cache.stats().getHits());
+    }
+
+    @Test
+    void testSizeCountsAllocatedTimeline() {
+        Workload.Builder builder = new Workload.Builder();
+        for (int pid = 1; pid <= 1000; pid++) {
+            builder.add(pid, 9, 1, 0);
+        }
+        Workload workload = builder.build();
+        // Quantum 1 records far more events than the buffer's initial capacity, so it has grown
+        SimulationResult result = new RRScheduler(1).schedule(workload);
+        ResultCache cache = new ResultCache(1L << 30);
+        cache.get(ResultCache.key(workload, "rr", SimulationOptions.FULL), () -> result);
+
+        int capacity = result.timelineBuffer().capacity();
+        assertTrue(capacity >= result.getTimeline().size());
+        assertTrue(cache.stats().getBytes() >= 16L * capacity + 12L * result.ganttChart().capacity());
+    }
+
+    @Test
+    void testDisabledCache() {
+        ResultCache cache = new ResultCache(0);
+        ResultCache.Key key = ResultCache.key(WORKLOAD, "fcfs", SimulationOptions.FULL);
+        SimulationResult result = new FCFSScheduler().schedule(WORKLOAD);
+        cache.get(key, () -> result);
+        cache.get(key, () -> result);
+
+        assertEquals(0, cache.stats().getEntries());
+        assertEquals(2, cache.stats().getMisses());
+    }
+}
@@ -99,4 +99,18 @@ class SJFSchedulerTest {
         assertEquals(5.0, result.getAverageTurnaroundTime());
         assertEquals(0, result.getTotalContextSwitches());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLateArrivalFastForwards() {
+        // P1: arrival=2,000,000,000, burst=3
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 3, 0, 2_000_000_000));
+
+        SimulationResult result = scheduler.schedule(processes);
+
+        // CPU idles from t=0 until P1 arrives
+        assertEquals(2_000_000_003, result.getCompletionTimes().get(1));
+        assertEquals(0.0, result.getAverageWaitingTime());
+        assertEquals(0, result.getTotalContextSwitches());
+    }
+}
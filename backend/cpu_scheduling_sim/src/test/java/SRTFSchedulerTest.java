@@ -102,4 +102,23 @@ class SRTFSchedulerTest {
         assertEquals(5.0, result.getAverageTurnaroundTime());
         assertEquals(0, result.getTotalContextSwitches());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLongBurstsAndIdleGapsDoNotTick() {
+        // P1: arrival=0, burst=1,000,000,000
+        // P2: arrival=500,000,000, burst=1
+        // P3: arrival=1,500,000,000, burst=500,000,000
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 1_000_000_000, 0, 0));
+        processes.add(new Process(2, 1, 0, 500_000_000));
+        processes.add(new Process(3, 500_000_000, 0, 1_500_000_000));
+
+        SimulationResult result = scheduler.schedule(processes);
+
+        // P1 is preempted by P2 for one time unit, CPU idles until P3 arrives
+        assertEquals(1_000_000_001, result.getCompletionTimes().get(1));
+        assertEquals(500_000_001, result.getCompletionTimes().get(2));
+        assertEquals(2_000_000_000, result.getCompletionTimes().get(3));
+        assertEquals(2, result.getTotalContextSwitches()); // P1->P2 at t=500,000,000, P2->P1 at t=500,000,001
+    }
+}
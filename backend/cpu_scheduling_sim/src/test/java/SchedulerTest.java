@@ -1,6 +1,13 @@
+import com.cpusim.model.Process;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineEvent;
 import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.model.Workload;
 import com.cpusim.scheduling.*;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
 
 class SchedulerTest {
@@ -34,4 +41,73 @@ class SchedulerTest {
     void testEventPriority_CpuIdleHasHighestPriority() {
         assertEquals(4, scheduler.getEventPriority(EventType.CPU_IDLE));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMetricsOnlyMatchesFullRun() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 7, 3, 0));
+        processes.add(new Process(2, 4, 1, 2));
+        processes.add(new Process(3, 1, 2, 4));
+        processes.add(new Process(4, 4, 4, 5));
+        processes.add(new Process(5, 2, 1, 20));
+        Workload workload = Workload.of(processes);
+
+        Scheduler[] schedulers = { new FCFSScheduler(), new SJFScheduler(), new SRTFScheduler(), new PPScheduler(),
+                new RRScheduler(3) };
+        for (Scheduler s : schedulers) {
+            SimulationResult full = s.schedule(workload, SimulationOptions.FULL);
+            SimulationResult metricsOnly = s.schedule(workload, SimulationOptions.METRICS_ONLY);
+
+            assertEquals(full.getTotalContextSwitches(), metricsOnly.getTotalContextSwitches(), s.getName());
+            assertEquals(full.getAverageWaitingTime(), metricsOnly.getAverageWaitingTime(), s.getName());
+            assertEquals(full.getAverageTurnaroundTime(), metricsOnly.getAverageTurnaroundTime(), s.getName());
+            assertTrue(metricsOnly.getTimeline().isEmpty());
+            assertTrue(metricsOnly.getSegments().isEmpty());
+            assertTrue(metricsOnly.getCompletionTimes().isEmpty());
+        }
+    }
+
+    @Test
+    void testStreamingMatchesFullRun() {
+        Random random = new Random(42);
+        Workload.Builder builder = new Workload.Builder();
+        for (int pid = 1; pid <= 2000; pid++) {
+            builder.add(pid, random.nextInt(10) + 1, random.nextInt(5) + 1, random.nextInt(15000));
+        }
+        Workload workload = builder.build();
+
+        Scheduler[] schedulers = { new FCFSScheduler(), new SJFScheduler(), new SRTFScheduler(), new PPScheduler(),
+                new RRScheduler(3) };
+        for (Scheduler s : schedulers) {
+            SimulationResult full = s.schedule(workload, SimulationOptions.FULL);
+
+            List<TimelineEvent> streamed = new ArrayList<>();
+            int[] flushes = new int[1];
+            SimulationResult result = s.schedule(workload, SimulationOptions.streaming(new TimelineSink() {
+                @Override
+                public void accept(TimelineEvent event) {
+                    streamed.add(event);
+                }
+
+                @Override
+                public void flush() {
+                    flushes[0]++;
+                }
+            }));
+
+            // Events arrive over several chunks and in the same order as the recorded timeline
+            assertTrue(flushes[0] > 1, s.getName());
+            assertEquals(full.getTimeline().size(), streamed.size(), s.getName());
+            for (int i = 0; i < streamed.size(); i++) {
+                assertEquals(full.getTimeline().get(i).toString(), streamed.get(i).toString(), s.getName());
+                assertEquals(full.getTimeline().get(i).getBurstRemaining(), streamed.get(i).getBurstRemaining());
+            }
+
+            assertTrue(result.getTimeline().isEmpty());
+            assertTrue(result.getSegments().isEmpty());
+            assertEquals(full.getTotalContextSwitches(), result.getTotalContextSwitches(), s.getName());
+            assertEquals(full.getAverageWaitingTime(), result.getAverageWaitingTime(), s.getName());
+            assertEquals(full.getCompletionTimes(), result.getCompletionTimes(), s.getName());
+        }
+    }
+}
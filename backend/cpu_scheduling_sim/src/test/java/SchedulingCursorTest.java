@@ -0,0 +1,85 @@
+import com.cpusim.model.Process;
+import com.cpusim.model.SchedulerSnapshot;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulingCursorTest {
+
+    private static List<Process> processes() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 7, 3, 0));
+        processes.add(new Process(2, 4, 1, 2));
+        processes.add(new Process(3, 1, 2, 4));
+        processes.add(new Process(4, 4, 4, 5));
+        processes.add(new Process(5, 2, 1, 20));
+        return processes;
+    }
+
+    @Test
+    void testNextEventReplaysFullTimeline() {
+        Scheduler[] schedulers = { new FCFSScheduler(), new SJFScheduler(), new SRTFScheduler(), new PPScheduler(),
+                new RRScheduler(2) };
+        for (Scheduler s : schedulers) {
+            SimulationResult full = s.schedule(processes());
+            SchedulingCursor cursor = s.cursor(processes());
+
+            List<TimelineEvent> events = new ArrayList<>();
+            for (TimelineEvent e = cursor.nextEvent(); e != null; e = cursor.nextEvent()) {
+                events.add(e);
+            }
+
+            assertEquals(full.getTimeline().toString(), events.toString(), s.getName());
+            assertTrue(cursor.isFinished());
+            assertEquals(full.getAverageWaitingTime(), cursor.result().getAverageWaitingTime(), s.getName());
+            assertEquals(full.getTotalContextSwitches(), cursor.result().getTotalContextSwitches(), s.getName());
+        }
+    }
+
+    @Test
+    void testAdvanceToStopsAtRequestedTime() {
+        SchedulingCursor cursor = new RRScheduler(2).cursor(processes());
+
+        List<TimelineEvent> events = cursor.advanceTo(5);
+        assertTrue(events.stream().allMatch(e -> e.getTime() <= 5));
+        assertEquals(EventType.PROCESS_ARRIVAL, events.get(events.size() - 1).getType()); // P4 arrives at 5
+
+        // P1 ran [0, 2), P2 [2, 4), P1 [4, 6), so P1 is one unit into its slice with 4 left
+        SchedulerSnapshot snapshot = cursor.snapshot();
+        assertEquals(5, snapshot.getTime());
+        assertEquals(1, snapshot.getRunningPid());
+        assertEquals(4, snapshot.getRunningBurstRemaining());
+        assertEquals(List.of(3, 2, 4), snapshot.getReadyPids()); // P2 was requeued behind P3, P4 arrived mid-slice
+        assertFalse(snapshot.isFinished());
+        assertThrows(IllegalStateException.class, cursor::result);
+
+        // The rest of the timeline picks up where advanceTo left off
+        List<TimelineEvent> rest = cursor.advanceTo(Integer.MAX_VALUE);
+        events.addAll(rest);
+        assertEquals(new RRScheduler(2).schedule(processes()).getTimeline().toString(), events.toString());
+        assertTrue(cursor.isFinished());
+        assertTrue(cursor.snapshot().isFinished());
+    }
+
+    @Test
+    void testCursorOnlyDoesTheWorkThatIsRead() {
+        // Long enough that computing everything would take far more than the test allows
+        Workload.Builder builder = new Workload.Builder(2_000_000);
+        for (int pid = 1; pid <= 2_000_000; pid++) {
+            builder.add(pid, 5, 1, pid * 5);
+        }
+        SchedulingCursor cursor = new SJFScheduler().cursor(builder.build());
+
+        for (int i = 0; i < 1000; i++) {
+            assertNotNull(cursor.nextEvent());
+        }
+        SchedulerSnapshot snapshot = cursor.snapshot();
+        assertTrue(snapshot.getCompletedProcesses() < 1000, snapshot.toString());
+    }
+}
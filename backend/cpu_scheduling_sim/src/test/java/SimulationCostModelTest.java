@@ -0,0 +1,117 @@
+import com.cpusim.model.CostAccuracy;
+import com.cpusim.model.CostEstimate;
+import com.cpusim.model.CostEstimate.Route;
+import com.cpusim.model.Process;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import com.cpusim.service.SimulationCostModel;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationCostModelTest {
+
+    private static final Workload WORKLOAD = Workload.of(List.of(
+            new Process(1, 7, 3, 0),
+            new Process(2, 4, 1, 2),
+            new Process(3, 1, 2, 4),
+            new Process(4, 4, 4, 5)));
+
+    @Test
+    void testSmallWorkloadRunsSync() {
+        SimulationCostModel model = new SimulationCostModel();
+        for (String algorithm : List.of("fcfs", "sjf", "srtf", "pp", "rr")) {
+            CostEstimate estimate = model.estimate(WORKLOAD, algorithm, 2, true);
+            assertEquals(Route.SYNC, estimate.getRoute(), algorithm);
+            assertNull(estimate.getReason());
+            assertEquals(16, estimate.getTotalBurstTime());
+            assertEquals(5, estimate.getArrivalSpan());
+            assertEquals(16, estimate.getMakespan());
+        }
+        // ceil(7/2) + ceil(4/2) + ceil(1/2) + ceil(4/2)
+        assertEquals(9, model.estimate(WORKLOAD, "rr", 2, true).getSteps());
+        assertEquals(4, model.estimate(WORKLOAD, "srtf", 2, true).getSteps());
+    }
+
+    @Test
+    void testMakespanSkipsIdleGaps() {
+        Workload workload = Workload.of(List.of(new Process(1, 3, 1, 0), new Process(2, 2, 1, 10)));
+        assertEquals(12, new SimulationCostModel().estimate(workload, "fcfs", 2, true).getMakespan());
+    }
+
+    @Test
+    void testRunsThatNeverFinishAreRejected() {
+        SimulationCostModel model = new SimulationCostModel();
+        CostEstimate zeroQuantum = model.estimate(WORKLOAD, "rr", 0, true);
+        assertEquals(Route.REJECT, zeroQuantum.getRoute());
+        assertTrue(zeroQuantum.getReason().contains("Quantum"));
+
+        Workload overflow = Workload.of(List.of(
+                new Process(1, Integer.MAX_VALUE - 10, 1, 0),
+                new Process(2, 100, 1, 5)));
+        CostEstimate estimate = model.estimate(overflow, "srtf", 2, true);
+        assertEquals(Route.REJECT, estimate.getRoute());
+        assertEquals((long) Integer.MAX_VALUE + 90, estimate.getMakespan());
+    }
+
+    @Test
+    void testExpensiveRunsGoAsyncOrAreRejected() {
+        // A single 2^30 tick burst is 2^30 one-tick Round Robin slices
+        Workload longBurst = Workload.of(List.of(new Process(1, 1 << 30, 1, 0)));
+        // An explicit event limit, the default depends on the heap
+        SimulationCostModel model = new SimulationCostModel(250, 120_000, 1L << 40);
+        assertEquals(Route.REJECT, model.estimate(longBurst, "rr", 1, true).getRoute());
+        assertEquals(Route.ASYNC, model.estimate(longBurst, "rr", 1 << 5, true).getRoute());
+        assertEquals(Route.SYNC, model.estimate(longBurst, "srtf", 1, true).getRoute());
+
+        // Only runs that keep their timeline are held to the event limit
+        SimulationCostModel fewEvents = new SimulationCostModel(250, 120_000, 10);
+        assertEquals(Route.REJECT, fewEvents.estimate(WORKLOAD, "fcfs", 2, true).getRoute());
+        assertEquals(Route.SYNC, fewEvents.estimate(WORKLOAD, "fcfs", 2, false).getRoute());
+    }
+
+    @Test
+    void testMultiCoreScansAddCost() {
+        Workload.Builder builder = new Workload.Builder();
+        for (int pid = 1; pid <= 100_000; pid++) {
+            builder.add(pid, 20, 1, pid);
+        }
+        Workload workload = builder.build();
+        SimulationCostModel model = new SimulationCostModel(250, 1_000, 1L << 40);
+        CostEstimate single = model.estimate(workload, "rr", 1, false);
+        CostEstimate oneCore = model.estimateMultiCore(workload, "rr", 1, new MultiCoreOptions(1), false);
+        CostEstimate manyCores = model.estimateMultiCore(workload, "rr", 1,
+                new MultiCoreOptions(MultiCoreOptions.MAX_CORES), false);
+        CostEstimate noScans = model.estimateMultiCore(workload, "rr", 1, new MultiCoreOptions(
+                MultiCoreOptions.MAX_CORES, MultiCoreOptions.Placement.ROUND_ROBIN, MultiCoreOptions.Balancer.NONE, 1),
+                false);
+
+        assertTrue(oneCore.getPredictedMillis() > single.getPredictedMillis());
+        assertEquals(single.getPredictedMillis(), noScans.getPredictedMillis());
+        // Two million slices, each scanning a thousand cores for a thief
+        assertEquals(Route.REJECT, manyCores.getRoute());
+        assertEquals(Route.REJECT,
+                model.estimateMultiCore(workload, "rr", 0, new MultiCoreOptions(2), false).getRoute());
+    }
+
+    @Test
+    void testRecordsAccuracyPerAlgorithm() {
+        SimulationCostModel model = new SimulationCostModel();
+        assertTrue(model.accuracy().isEmpty());
+        CostEstimate estimate = model.estimate(WORKLOAD, "rr", 2, true);
+        int events = new RRScheduler(2).schedule(WORKLOAD).getTimeline().size();
+        model.record(estimate, (long) (estimate.getPredictedMillis() * 2e6), events);
+        model.record(estimate, (long) (estimate.getPredictedMillis() * 4e6), events);
+
+        List<CostAccuracy> accuracy = model.accuracy();
+        assertEquals(1, accuracy.size());
+        CostAccuracy rr = accuracy.get(0);
+        assertEquals("rr", rr.getAlgorithm());
+        assertEquals(2, rr.getRuns());
+        assertEquals(3, rr.getRatio(), 0.01);
+        assertEquals(2, rr.getMinRatio(), 0.01);
+        assertEquals(4, rr.getMaxRatio(), 0.01);
+        assertEquals(events, rr.getMeanActualEvents());
+        assertTrue(rr.getMeanPredictedEvents() >= events);
+    }
+}
@@ -0,0 +1,128 @@
+import com.cpusim.model.JobStatus;
+import com.cpusim.model.JobStatus.State;
+import com.cpusim.model.Process;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import com.cpusim.service.JobQueueFullException;
+import com.cpusim.service.SimulationJobs;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationJobsTest {
+
+    private static final Workload WORKLOAD = Workload.of(List.of(
+            new Process(1, 7, 3, 0),
+            new Process(2, 4, 1, 2),
+            new Process(3, 1, 2, 4)));
+
+    private static JobStatus awaitState(SimulationJobs jobs, String id, State state) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            JobStatus status = jobs.status(id);
+            if (status.getState() == state) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + id + " never reached " + state + ", it is " + jobs.status(id).getState());
+        return null;
+    }
+
+    @Test
+    void testQueuedJobRunsAndKeepsItsResult() throws InterruptedException {
+        try (SimulationJobs jobs = new SimulationJobs(1, 4, 16)) {
+            JobStatus submitted = jobs.submit("FCFS", 3, () -> new FCFSScheduler().schedule(WORKLOAD), false);
+            assertEquals("FCFS", submitted.getAlgorithm());
+            assertEquals(3, submitted.getProcessCount());
+
+            JobStatus done = awaitState(jobs, submitted.getId(), State.DONE);
+            assertNull(done.getError());
+            SimulationResult result = jobs.result(submitted.getId());
+            assertEquals(new FCFSScheduler().schedule(WORKLOAD).getAverageWaitingTime(),
+                    result.getAverageWaitingTime());
+        }
+    }
+
+    @Test
+    void testInlineJobIsDoneOnReturn() {
+        try (SimulationJobs jobs = new SimulationJobs(1, 1, 16)) {
+            JobStatus status = jobs.submit("SJF", 3, () -> new SJFScheduler().schedule(WORKLOAD), true);
+            assertEquals(State.DONE, status.getState());
+            assertNotNull(jobs.result(status.getId()));
+
+            JobStatus failed = jobs.submit("SJF", 3, () -> {
+                throw new IllegalStateException("No processes to simulate");
+            }, true);
+            assertEquals(State.FAILED, failed.getState());
+            assertEquals("No processes to simulate", failed.getError());
+            assertNull(jobs.result(failed.getId()));
+        }
+    }
+
+    @Test
+    void testFullQueueRejectsAndQueuedJobCanBeCancelled() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedJobRan = new AtomicBoolean();
+        try (SimulationJobs jobs = new SimulationJobs(1, 1, 16)) {
+            JobStatus running = jobs.submit("FCFS", 3, () -> {
+                release.await(10, TimeUnit.SECONDS);
+                return new FCFSScheduler().schedule(WORKLOAD);
+            }, false);
+            awaitState(jobs, running.getId(), State.RUNNING);
+
+            JobStatus queued = jobs.submit("FCFS", 3, () -> {
+                queuedJobRan.set(true);
+                return new FCFSScheduler().schedule(WORKLOAD);
+            }, false);
+            assertEquals(State.QUEUED, queued.getState());
+
+            JobQueueFullException full = assertThrows(JobQueueFullException.class,
+                    () -> jobs.submit("FCFS", 3, () -> new FCFSScheduler().schedule(WORKLOAD), false));
+            assertTrue(full.getRetryAfterSeconds() >= 1);
+
+            assertEquals(State.CANCELLED, jobs.cancel(queued.getId()).getState());
+            assertEquals(0, jobs.queuedCount());
+            // The freed slot takes a new job again
+            JobStatus next = jobs.submit("FCFS", 3, () -> new FCFSScheduler().schedule(WORKLOAD), false);
+
+            release.countDown();
+            awaitState(jobs, running.getId(), State.DONE);
+            awaitState(jobs, next.getId(), State.DONE);
+            assertFalse(queuedJobRan.get());
+            assertNull(jobs.cancel("unknown"));
+        }
+    }
+
+    @Test
+    void testInterruptStopsScheduler() {
+        Workload.Builder builder = new Workload.Builder();
+        for (int pid = 1; pid <= 20_000; pid++) {
+            builder.add(pid, 5, 1, pid);
+        }
+        Workload workload = builder.build();
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> new RRScheduler(1).schedule(workload));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testOldFinishedJobsAreForgotten() {
+        try (SimulationJobs jobs = new SimulationJobs(1, 1, 2)) {
+            String first = jobs.submit("FCFS", 3, () -> new FCFSScheduler().schedule(WORKLOAD), true).getId();
+            String second = jobs.submit("FCFS", 3, () -> new FCFSScheduler().schedule(WORKLOAD), true).getId();
+            String third = jobs.submit("FCFS", 3, () -> new FCFSScheduler().schedule(WORKLOAD), true).getId();
+
+            assertNull(jobs.status(first));
+            assertNotNull(jobs.status(second));
+            assertNotNull(jobs.status(third));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+import com.cpusim.api.SimulationResultSerializer;
+import com.cpusim.model.AlgorithmComparison;
+import com.cpusim.model.GanttSegment;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationResultSerializerTest {
+
+    // Bean serialization, what the API returned before the custom serializer
+    private static final ObjectMapper BEANS = new ObjectMapper();
+    private static final ObjectMapper STREAMING = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(new SimulationResultSerializer()));
+
+    private static Workload randomWorkload(int size, long seed) {
+        Random random = new Random(seed);
+        Workload.Builder builder = new Workload.Builder();
+        for (int pid = 1; pid <= size; pid++) {
+            // Gaps between arrivals so the timeline has idle events
+            builder.add(pid * 3, random.nextInt(12) + 1, random.nextInt(10), random.nextInt(size * 10));
+        }
+        return builder.build();
+    }
+
+    private static void assertSameJson(Object value) throws JsonProcessingException {
+        assertEquals(BEANS.writeValueAsString(value), STREAMING.writeValueAsString(value));
+    }
+
+    @Test
+    void testSameJsonAsBeanSerialization() throws JsonProcessingException {
+        Workload workload = randomWorkload(300, 9);
+        List<Scheduler> schedulers = List.of(new FCFSScheduler(), new SJFScheduler(), new SRTFScheduler(),
+                new PPScheduler(), new RRScheduler(3));
+        for (Scheduler scheduler : schedulers) {
+            SimulationResult full = scheduler.schedule(workload);
+            assertNotNull(full.timelineBuffer());
+            assertSameJson(full);
+            assertSameJson(full.withoutTimeline());
+            assertSameJson(full.metricsOnly());
+            assertSameJson(scheduler.schedule(workload, SimulationOptions.METRICS_ONLY));
+        }
+    }
+
+    @Test
+    void testPlainListsAndNestedResults() throws JsonProcessingException {
+        SimulationResult plain = new SimulationResult(
+                List.of(new TimelineEvent(0, 1, TimelineEvent.EventType.PROCESS_START, 4, null),
+                        new TimelineEvent(4, 1, TimelineEvent.EventType.PROCESS_FINISH)),
+                List.of(new GanttSegment(1, 0, 4)), 4.5, 2.25, 1);
+        assertSameJson(plain);
+
+        SimulationResult result = new RRScheduler(2).schedule(randomWorkload(20, 4));
+        assertSameJson(new AlgorithmComparison("rr", "Round Robin", 1.5, result));
+    }
+}
@@ -0,0 +1,187 @@
+import com.cpusim.model.AlgorithmComparison;
+import com.cpusim.model.ComparisonResult;
+import com.cpusim.model.CostAccuracy;
+import com.cpusim.model.CostEstimate;
+import com.cpusim.model.JobStatus;
+import com.cpusim.model.Process;
+import com.cpusim.model.QuizSubmission;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.scheduling.RRScheduler;
+import com.cpusim.service.SimulationRejectedException;
+import com.cpusim.service.SimulationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationServiceTest {
+
+    private static final String SESSION = "session-1";
+
+    // Every service starts a quiz producer thread and job workers, closed after each test
+    private final List<SimulationService> services = new ArrayList<>();
+
+    @AfterEach
+    void closeServices() {
+        services.forEach(SimulationService::close);
+    }
+
+    private SimulationService newService() {
+        SimulationService service = new SimulationService();
+        services.add(service);
+        return service;
+    }
+
+    private SimulationService serviceWithProcesses() {
+        SimulationService service = newService();
+        service.addProcess(SESSION, new Process(1, 7, 3, 0));
+        service.addProcess(SESSION, new Process(2, 4, 1, 2));
+        service.addProcess(SESSION, new Process(3, 1, 2, 4));
+        service.addProcess(SESSION, new Process(4, 4, 4, 5));
+        return service;
+    }
+
+    @Test
+    void testCompareMatchesIndividualRuns() {
+        SimulationService service = serviceWithProcesses();
+        ComparisonResult comparison = service.compareAlgorithms(SESSION, 3, true);
+
+        assertEquals(4, comparison.getProcessCount());
+        List<AlgorithmComparison> entries = comparison.getAlgorithms();
+        assertEquals(List.of("fcfs", "sjf", "srtf", "pp", "rr"),
+                entries.stream().map(AlgorithmComparison::getAlgorithm).toList());
+
+        for (AlgorithmComparison entry : entries) {
+            SimulationResult expected = service.runSimulation(SESSION, entry.getAlgorithm(), 3);
+            SimulationResult actual = entry.getResult();
+            assertEquals(expected.getTimeline().toString(), actual.getTimeline().toString(), entry.getAlgorithm());
+            assertEquals(expected.getAverageWaitingTime(), actual.getAverageWaitingTime(), entry.getAlgorithm());
+            assertEquals(expected.getTotalContextSwitches(), actual.getTotalContextSwitches(), entry.getAlgorithm());
+            assertTrue(entry.getWallTimeMillis() >= 0);
+        }
+    }
+
+    @Test
+    void testCompareWithoutTimeline() {
+        ComparisonResult comparison = serviceWithProcesses().compareAlgorithms(SESSION, 2, false);
+
+        for (AlgorithmComparison entry : comparison.getAlgorithms()) {
+            assertTrue(entry.getResult().getTimeline().isEmpty());
+            assertTrue(entry.getResult().getCompletionTimes().isEmpty());
+        }
+    }
+
+    @Test
+    void testSessionsAreIsolated() {
+        SimulationService service = serviceWithProcesses();
+        service.setProcesses("session-2", List.of(new Process(1, 3, 1, 0)));
+
+        assertEquals(4, service.getProcesses(SESSION).size());
+        assertEquals(1, service.getProcesses("session-2").size());
+        assertTrue(service.getProcesses(null).isEmpty());
+
+        SimulationResult result = service.runSimulation("session-2", "fcfs", 2);
+        assertSame(result, service.getLastResult("session-2"));
+        assertThrows(IllegalStateException.class, () -> service.getLastResult(SESSION));
+        assertThrows(IllegalArgumentException.class, () -> service.getProcesses("not a valid id"));
+    }
+
+    @Test
+    void testRepeatedSimulationHitsCache() {
+        SimulationService service = serviceWithProcesses();
+        SimulationResult first = service.runSimulation(SESSION, "rr", 2);
+        // Another session with the same processes gets the same result
+        service.setProcesses("session-2", service.getProcesses(SESSION));
+        SimulationResult second = service.runSimulation("session-2", "rr", 2);
+
+        assertSame(first, second);
+        assertEquals(1, service.getCacheStats().getHits());
+        assertNotSame(first, service.runSimulation(SESSION, "rr", 3));
+    }
+
+    @Test
+    void testImportReplacesProcesses() {
+        SimulationService service = serviceWithProcesses();
+        String csv = "burst,priority,arrival\n7,3,0\n4,1,2\n";
+        int count = service.importProcesses(SESSION, new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(2, count);
+        assertEquals(2, service.getProcesses(SESSION).size());
+        assertEquals(7, service.getProcesses(SESSION).get(0).getBurstTime());
+        assertEquals(2.5, service.runSimulation(SESSION, "fcfs", 2).getAverageWaitingTime());
+
+        // Adding after an import keeps the imported processes
+        service.addProcess(SESSION, new Process(3, 1, 1, 9));
+        assertEquals(3, service.getProcesses(SESSION).size());
+    }
+
+    @Test
+    void testSmallJobRunsInline() {
+        SimulationService service = newService();
+        service.setProcesses(SESSION, List.of(new Process(1, 7, 3, 0), new Process(2, 4, 1, 2)));
+        JobStatus job = service.submitJob(SESSION, "fcfs", 2);
+
+        assertEquals(JobStatus.State.DONE, job.getState());
+        assertEquals(2.5, service.getJobResult(job.getId()).getAverageWaitingTime());
+        assertSame(service.getJobResult(job.getId()), service.getLastResult(SESSION));
+        assertNull(service.getJob("unknown"));
+    }
+
+    @Test
+    void testRejectedRunsNeverStart() {
+        SimulationService service = serviceWithProcesses();
+        assertThrows(SimulationRejectedException.class, () -> service.runSimulation(SESSION, "rr", 0));
+        assertThrows(SimulationRejectedException.class, () -> service.submitJob(SESSION, "roundrobin", 0));
+        assertThrows(SimulationRejectedException.class, () -> service.compareAlgorithms(SESSION, 0, false));
+        assertThrows(SimulationRejectedException.class, () -> service.admitStreamed(SESSION, "rr", 0));
+        assertThrows(IllegalArgumentException.class, () -> service.admitStreamed(SESSION, "lottery", 2));
+        assertEquals("pp", service.admitStreamed(SESSION, "priority", 2).getAlgorithm());
+        // Ten thousand quantum 1 runs of a billion ticks each
+        service.setProcesses(SESSION, List.of(new Process(1, 1_000_000_000, 1, 0)));
+        assertThrows(SimulationRejectedException.class, () -> service.sweepQuantum(SESSION, 1, 10_000, false, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.sweepQuantum(SESSION, 1, Integer.MAX_VALUE, false, 0));
+        service.setProcesses(SESSION, List.of(new Process(1, 7, 3, 0), new Process(2, 4, 1, 2)));
+        assertTrue(service.getCostAccuracy().isEmpty());
+
+        service.runSimulation(SESSION, "srtf", 2);
+        service.runSimulation(SESSION, "srtf", 2); // Cache hit, not measured
+        List<CostAccuracy> accuracy = service.getCostAccuracy();
+        assertEquals(1, accuracy.size());
+        assertEquals("srtf", accuracy.get(0).getAlgorithm());
+        assertEquals(1, accuracy.get(0).getRuns());
+        assertTrue(accuracy.get(0).getMeanActualEvents() > 0);
+    }
+
+    @Test
+    void testProcessesThatCouldNeverRunAreRefused() {
+        SimulationService service = serviceWithProcesses();
+        // A negative burst never finishes under SRTF and PP, a negative arrival gives negative waiting times
+        assertThrows(IllegalArgumentException.class, () -> service.setProcesses(SESSION,
+                List.of(new Process(1, -5, 1, 0), new Process(2, 3, 1, 1))));
+        assertThrows(IllegalArgumentException.class, () -> service.setProcesses(SESSION,
+                List.of(new Process(1, 0, 1, 0))));
+        assertThrows(IllegalArgumentException.class, () -> service.addProcess(SESSION, new Process(5, 2, 1, -1)));
+        assertEquals(4, service.getProcesses(SESSION).size());
+        assertEquals(CostEstimate.Route.SYNC, service.estimateCost(SESSION, "srtf", 2).getRoute());
+
+        QuizSubmission submission = new QuizSubmission("unknown", List.of(new Process(1, -5, 1, 0)), "srtf", null,
+                0, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> service.checkQuizAnswers(submission));
+    }
+
+    @Test
+    void testQuizWithoutQuantumIsRejected() {
+        SimulationService service = newService();
+        List<Process> processes = List.of(new Process(1, 7, 3, 0), new Process(2, 4, 1, 2));
+        QuizSubmission noQuantum = new QuizSubmission("unknown", processes, "rr", null, 0, 0, 0);
+        assertThrows(SimulationRejectedException.class, () -> service.checkQuizAnswers(noQuantum));
+
+        QuizSubmission withQuantum = new QuizSubmission("unknown", processes, "rr", 2, 0, 0, 0);
+        assertEquals(new RRScheduler(2).schedule(processes).getAverageWaitingTime(),
+                service.checkQuizAnswers(withQuantum).getActualResult().getAverageWaitingTime());
+    }
+}
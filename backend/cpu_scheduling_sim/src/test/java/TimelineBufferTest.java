@@ -0,0 +1,63 @@
+import com.cpusim.model.Process;
+import com.cpusim.model.TimelineBuffer;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.TimelineEvent.EventType;
+import com.cpusim.model.Workload;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimelineBufferTest {
+
+    @Test
+    void testArrivalsMergedBeforeEventsAtSameTime() {
+        // P1: arrival=0, burst=2, priority=3
+        // P2: arrival=2, burst=1, priority=1
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 2, 3, 0));
+        processes.add(new Process(2, 1, 1, 2));
+        TimelineBuffer timeline = new TimelineBuffer(Workload.of(processes));
+
+        timeline.start(0, 0, 2);
+        timeline.finish(2, 0);
+        timeline.contextSwitch(2, 1, 1);
+        timeline.start(2, 1, 1);
+        timeline.finish(3, 1);
+        timeline.idle(3);
+        timeline.close();
+
+        List<TimelineEvent> events = timeline.asList();
+        assertEquals(8, events.size());
+        assertEquals(EventType.PROCESS_ARRIVAL, events.get(0).getType());
+        assertEquals(EventType.PROCESS_START, events.get(1).getType());
+        assertEquals(EventType.PROCESS_ARRIVAL, events.get(2).getType()); // P2 arrives before P1 finishes at t=2
+        assertEquals(2, events.get(2).getPid());
+        assertEquals(EventType.PROCESS_FINISH, events.get(3).getType());
+        assertEquals(EventType.CPU_IDLE, events.get(7).getType());
+        assertEquals(0, events.get(7).getPid());
+    }
+
+    @Test
+    void testEventFieldsRoundTrip() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(42, 2_000_000_000, -5, 1_000_000_000));
+        TimelineBuffer timeline = new TimelineBuffer(Workload.of(processes));
+
+        timeline.contextSwitch(1_500_000_000, 0, 1_999_999_999);
+        timeline.finish(2_000_000_000, 0);
+        timeline.close();
+
+        TimelineEvent arrival = timeline.event(0);
+        assertEquals(1_000_000_000, arrival.getTime());
+        assertEquals(2_000_000_000, arrival.getBurstRemaining());
+        TimelineEvent contextSwitch = timeline.event(1);
+        assertEquals(42, contextSwitch.getPid());
+        assertEquals(1_999_999_999, contextSwitch.getBurstRemaining());
+        assertEquals(-5, contextSwitch.getPriority());
+        TimelineEvent finish = timeline.event(2);
+        assertEquals(2_000_000_000, finish.getTime());
+        assertNull(finish.getBurstRemaining());
+        assertNull(finish.getPriority());
+    }
+}
@@ -0,0 +1,153 @@
+import com.cpusim.io.TraceReader;
+import com.cpusim.io.TraceWriter;
+import com.cpusim.model.Process;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.TimelineEvent;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.*;
+import com.cpusim.simulation.SimulationEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceFilesTest {
+
+    @TempDir
+    Path dir;
+
+    private static Workload randomWorkload(int size, long seed) {
+        Random random = new Random(seed);
+        Workload.Builder builder = new Workload.Builder();
+        for (int pid = 1; pid <= size; pid++) {
+            builder.add(pid, random.nextInt(20) + 1, random.nextInt(10), random.nextInt(size * 4));
+        }
+        return builder.build();
+    }
+
+    private static void assertSameEvent(TimelineEvent expected, TimelineEvent actual) {
+        assertEquals(expected.getTime(), actual.getTime());
+        assertEquals(expected.getPid(), actual.getPid());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getBurstRemaining(), actual.getBurstRemaining());
+        assertEquals(expected.getPriority(), actual.getPriority());
+    }
+
+    // Writes the trace with a small index interval so lookups cross many index entries
+    private Path writeTrace(Scheduler scheduler, Workload workload, int indexInterval) throws IOException {
+        Path file = dir.resolve("run.trace");
+        try (TraceWriter writer = TraceWriter.create(file, workload, scheduler.getName(), indexInterval)) {
+            scheduler.schedule(workload, SimulationOptions.streaming(writer));
+            writer.finish();
+        }
+        return file;
+    }
+
+    @Test
+    void testTraceMatchesRecordedTimeline() throws IOException {
+        Workload workload = randomWorkload(2000, 3);
+        Scheduler scheduler = new RRScheduler(3);
+        List<TimelineEvent> timeline = scheduler.schedule(workload).getTimeline();
+
+        TraceReader reader = TraceReader.open(writeTrace(scheduler, workload, 7));
+        assertEquals(scheduler.getName(), reader.getAlgorithm());
+        assertEquals(2000, reader.getProcessCount());
+        long totalBurstTime = 0;
+        for (int slot = 0; slot < workload.size(); slot++) {
+            totalBurstTime += workload.burstTime(slot);
+        }
+        assertEquals(totalBurstTime, reader.getTotalBurstTime());
+        assertEquals(timeline.size(), reader.getEventCount());
+        for (int i = 0; i < timeline.size(); i++) {
+            assertSameEvent(timeline.get(i), reader.event(i));
+        }
+    }
+
+    @Test
+    void testLookupByTime() throws IOException {
+        Workload workload = randomWorkload(500, 11);
+        Scheduler scheduler = new SRTFScheduler();
+        List<TimelineEvent> timeline = scheduler.schedule(workload).getTimeline();
+        TraceReader reader = TraceReader.open(writeTrace(scheduler, workload, 16));
+
+        int endTime = timeline.get(timeline.size() - 1).getTime();
+        for (int time = -1; time <= endTime + 1; time += 7) {
+            int from = time;
+            int to = time + 13;
+            List<TimelineEvent> expected = timeline.stream()
+                    .filter(event -> event.getTime() >= from && event.getTime() < to)
+                    .toList();
+            List<TimelineEvent> actual = reader.eventsBetween(from, to);
+            assertEquals(expected.size(), actual.size(), "events in [" + from + ", " + to + ")");
+            for (int i = 0; i < expected.size(); i++) {
+                assertSameEvent(expected.get(i), actual.get(i));
+            }
+        }
+        assertEquals(0, reader.firstEventAt(Integer.MIN_VALUE));
+        assertEquals(reader.getEventCount(), reader.firstEventAt(endTime + 1));
+    }
+
+    @Test
+    void testReplayPushesEventsInChunks() throws IOException {
+        Workload workload = randomWorkload(1500, 5);
+        Scheduler scheduler = new FCFSScheduler();
+        TraceReader reader = TraceReader.open(writeTrace(scheduler, workload, 1024));
+
+        List<TimelineEvent> replayed = new ArrayList<>();
+        int[] flushes = new int[1];
+        reader.replay(0, reader.getEventCount(), new TimelineSink() {
+            @Override
+            public void accept(TimelineEvent event) {
+                replayed.add(event);
+            }
+
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        });
+
+        List<TimelineEvent> timeline = scheduler.schedule(workload).getTimeline();
+        assertEquals(timeline.size(), replayed.size());
+        assertSameEvent(timeline.get(timeline.size() - 1), replayed.get(replayed.size() - 1));
+        assertEquals(timeline.size() / 1024 + 1, flushes[0]);
+    }
+
+    @Test
+    void testUnfinishedOrDamagedTraceIsRejected() throws IOException {
+        Workload workload = Workload.of(List.of(new Process(1, 4, 1, 0), new Process(2, 2, 1, 1)));
+        Path unfinished = dir.resolve("unfinished.trace");
+        try (TraceWriter writer = TraceWriter.create(unfinished, workload, "FCFS")) {
+            new FCFSScheduler().schedule(workload, SimulationOptions.streaming(writer));
+        }
+        assertThrows(IllegalArgumentException.class, () -> TraceReader.open(unfinished));
+
+        Path file = writeTrace(new FCFSScheduler(), workload, 4);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IllegalArgumentException.class, () -> TraceReader.open(file));
+        assertThrows(IllegalArgumentException.class, () -> TraceReader.open(Files.writeString(dir.resolve("x"),
+                "1,2,3\n".repeat(40))));
+    }
+
+    @Test
+    void testEngineArchivesRun() throws IOException {
+        SimulationEngine engine = new SimulationEngine();
+        engine.loadSampleProcesses();
+        SimulationResult full = engine.runSimulation("PP");
+
+        Path file = dir.resolve("pp.trace");
+        SimulationResult archived = engine.runSimulationToTrace("PP", 2, file);
+        assertTrue(archived.getTimeline().isEmpty());
+        assertEquals(full.getAverageWaitingTime(), archived.getAverageWaitingTime());
+
+        TraceReader reader = TraceReader.open(file);
+        assertEquals(full.getTimeline().size(), reader.getEventCount());
+        assertSameEvent(full.getTimeline().get(3), reader.event(3));
+    }
+}
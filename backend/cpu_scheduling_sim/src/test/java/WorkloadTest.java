@@ -0,0 +1,93 @@
+import com.cpusim.model.Process;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.FCFSScheduler;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadTest {
+
+    @Test
+    void testSlotsSortedByArrivalTime() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 4, 2, 6));
+        processes.add(new Process(2, 3, 1, 0));
+        processes.add(new Process(3, 5, 3, 2));
+
+        Workload workload = Workload.of(processes);
+
+        assertEquals(3, workload.size());
+        assertEquals(2, workload.pid(0));
+        assertEquals(3, workload.pid(1));
+        assertEquals(1, workload.pid(2));
+        assertEquals(6, workload.arrivalTime(2));
+        assertEquals(4, workload.burstTime(2));
+        assertEquals(2, workload.priority(2));
+    }
+
+    @Test
+    void testEqualArrivalsKeepInputOrder() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 1, 0, 3));
+        processes.add(new Process(2, 1, 0, 0));
+        processes.add(new Process(3, 1, 0, 3));
+        processes.add(new Process(4, 1, 0, 0));
+
+        Workload workload = Workload.of(processes);
+
+        assertEquals(2, workload.pid(0));
+        assertEquals(4, workload.pid(1));
+        assertEquals(1, workload.pid(2));
+        assertEquals(3, workload.pid(3));
+    }
+
+    @Test
+    void testArrivedBy() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process(1, 1, 0, 0));
+        processes.add(new Process(2, 1, 0, 2));
+        processes.add(new Process(3, 1, 0, 2));
+        processes.add(new Process(4, 1, 0, 7));
+
+        Workload workload = Workload.of(processes);
+
+        assertEquals(1, workload.arrivedBy(0, 1));
+        assertEquals(3, workload.arrivedBy(0, 2));
+        assertEquals(3, workload.arrivedBy(3, 6));
+        assertEquals(4, workload.arrivedBy(1, 7));
+    }
+
+    @Test
+    void testRejectsProcessesThatCouldNeverRun() {
+        Workload.Builder builder = new Workload.Builder();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> builder.add(7, 0, 1, 0));
+        assertEquals("Process 7 has burst time 0, must be at least 1", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> builder.add(1, -5, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Workload.of(List.of(new Process(1, 3, 1, 0), new Process(2, 3, 1, -1))));
+        assertEquals(0, builder.size());
+    }
+
+    @Test
+    void testRejectsDuplicatePids() {
+        Workload.Builder builder = new Workload.Builder().add(3, 1, 0, 0).add(1, 1, 0, 2).add(3, 1, 0, 1);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, builder::build);
+        assertEquals("Duplicate pid 3", e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> Workload.of(List.of(new Process(1, 2, 0, 0), new Process(1, 2, 0, 0))));
+
+        // Unique pids in any order build, and the per-pid maps agree with a plain HashMap
+        Workload workload = Workload.of(List.of(new Process(9, 2, 0, 4), new Process(2, 3, 0, 0),
+                new Process(5, 1, 0, 1)));
+        SimulationResult result = new FCFSScheduler().schedule(workload);
+        Map<Integer, Integer> completionTimes = new HashMap<>(result.getCompletionTimes());
+        assertEquals(3, completionTimes.size());
+        assertEquals(completionTimes, result.getCompletionTimes());
+        assertEquals(result.getCompletionTimes(), completionTimes);
+        assertEquals(completionTimes.hashCode(), result.getCompletionTimes().hashCode());
+    }
+}
@@ -0,0 +1,109 @@
+import com.cpusim.model.Process;
+import com.cpusim.model.SimulationResult;
+import com.cpusim.model.Workload;
+import com.cpusim.scheduling.RRScheduler;
+import com.cpusim.service.Workspace;
+import com.cpusim.service.WorkspaceStore;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkspaceStoreTest {
+
+    private static List<Process> processes(int count) {
+        List<Process> processes = new ArrayList<>(count);
+        for (int pid = 1; pid <= count; pid++) {
+            processes.add(new Process(pid, 5, 1, pid));
+        }
+        return processes;
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedWorkspaces() {
+        AtomicLong clock = new AtomicLong();
+        WorkspaceStore store = new WorkspaceStore(10, 1000, Duration.ofHours(1), clock::get);
+        for (int i = 0; i < 10; i++) {
+            clock.incrementAndGet();
+            store.get("s" + i).setProcesses(processes(1));
+        }
+        // Using s0 again makes s1 and s2 the least recently used
+        clock.incrementAndGet();
+        store.get("s0");
+        clock.incrementAndGet();
+        store.get("s10");
+
+        // Evicted down to 90% of the limit
+        assertEquals(9, store.size());
+        assertEquals(8, store.getTotalProcesses());
+        assertEquals(1, store.get("s0").getProcesses().size());
+        assertEquals(1, store.get("s3").getProcesses().size());
+        assertTrue(store.get("s1").getProcesses().isEmpty());
+    }
+
+    @Test
+    void testProcessBudget() {
+        AtomicLong clock = new AtomicLong();
+        WorkspaceStore store = new WorkspaceStore(100, 100, Duration.ofHours(1), clock::get);
+        Workspace first = store.get("first");
+        first.setProcesses(processes(60));
+        clock.incrementAndGet();
+        Workspace second = store.get("second");
+        second.setProcesses(processes(60));
+
+        // Over the budget, so the older workspace goes
+        assertEquals(60, store.getTotalProcesses());
+        assertEquals(1, store.size());
+        assertEquals(60, store.get("second").getProcesses().size());
+
+        assertThrows(IllegalArgumentException.class, () -> second.setProcesses(processes(101)));
+        second.clearProcesses();
+        assertEquals(0, store.getTotalProcesses());
+    }
+
+    @Test
+    void testResultBudget() {
+        // Few processes, but quantum 1 records an event per tick of burst
+        SimulationResult result = new RRScheduler(1).schedule(Workload.of(processes(20)));
+        SimulationResult smaller = new RRScheduler(5).schedule(Workload.of(processes(20)));
+        AtomicLong clock = new AtomicLong();
+        WorkspaceStore store = new WorkspaceStore(100, 1000, 1, Duration.ofHours(1), clock::get);
+        store.get("first").setLastResult(result);
+        long resultBytes = store.getTotalResultBytes();
+        assertTrue(resultBytes > 1);
+        store.get("first").setLastResult(smaller);
+        assertTrue(store.getTotalResultBytes() < resultBytes);
+
+        clock.incrementAndGet();
+        store.get("second").setLastResult(result);
+        // Over the budget, so the older workspace and its result go
+        assertEquals(1, store.size());
+        assertEquals(resultBytes, store.getTotalResultBytes());
+        assertNull(store.get("first").getLastResult());
+    }
+
+    @Test
+    void testIdleWorkspacesExpire() {
+        AtomicLong clock = new AtomicLong();
+        WorkspaceStore store = new WorkspaceStore(100, 100, Duration.ofNanos(100), clock::get);
+        store.get("idle").setProcesses(processes(5));
+        clock.set(50);
+        store.get("active");
+        clock.set(120);
+        store.get("active");
+
+        assertEquals(1, store.size());
+        assertEquals(0, store.getTotalProcesses());
+        assertTrue(store.get("idle").getProcesses().isEmpty());
+    }
+
+    @Test
+    void testDefaultWorkspace() {
+        WorkspaceStore store = new WorkspaceStore(10, 10, Duration.ofMinutes(1));
+        assertSame(store.get(null), store.get(" "));
+        assertSame(store.get(null), store.get(WorkspaceStore.DEFAULT_ID));
+        assertThrows(IllegalArgumentException.class, () -> store.get("a/b"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.cpusim.io;
+
+import com.cpusim.model.Process;
+import com.cpusim.model.Workload;
+import com.cpusim.simulation.SimulationEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadFilesTest {
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content);
+    }
+
+    private static void assertSameWorkload(Workload expected, Workload actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int slot = 0; slot < expected.size(); slot++) {
+            assertEquals(expected.pid(slot), actual.pid(slot));
+            assertEquals(expected.burstTime(slot), actual.burstTime(slot));
+            assertEquals(expected.priority(slot), actual.priority(slot));
+            assertEquals(expected.arrivalTime(slot), actual.arrivalTime(slot));
+        }
+    }
+
+    @Test
+    void testCsvWithoutPids() throws IOException {
+        // Same rows as POST /processes: burst, priority, arrival
+        Path file = write("w.csv", "burst,priority,arrival\r\n7,3,0\r\n\r\n4, 1, 2\r\n# comment\r\n1,2,4");
+        Workload expected = Workload.of(List.of(
+                new Process(1, 7, 3, 0),
+                new Process(2, 4, 1, 2),
+                new Process(3, 1, 2, 4)));
+
+        assertSameWorkload(expected, WorkloadFiles.read(file));
+    }
+
+    @Test
+    void testCsvWithPidsIsSortedByArrival() throws IOException {
+        Path file = write("w.csv", "10,5,1,8\n20,3,2,0\n30,1,1,8\n");
+        Workload workload = WorkloadFiles.readCsv(file);
+
+        assertEquals(3, workload.size());
+        assertEquals(20, workload.pid(0));
+        assertEquals(10, workload.pid(1));
+        assertEquals(30, workload.pid(2));
+    }
+
+    @Test
+    void testCsvErrors() throws IOException {
+        IllegalArgumentException fields = assertThrows(IllegalArgumentException.class,
+                () -> WorkloadFiles.read(write("a.csv", "1,2\n")));
+        assertTrue(fields.getMessage().startsWith("CSV line 1:"), fields.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> WorkloadFiles.read(write("b.csv", "1,2,3\n1,2,3,4\n")));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadFiles.read(write("c.csv", "0,1,1\n")));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadFiles.read(write("d.csv", "5,1,-1\n")));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadFiles.read(write("e.csv", "5,1,1\n5,x,1\n")));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadFiles.read(write("f.csv", "5,,1\n")));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> WorkloadFiles.read(write("g.csv", "5,1,1\n5,1,99999999999\n")));
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                () -> WorkloadFiles.read(write("h.csv", "1,5,1,0\n2,5,1,1\n1,5,1,2\n")));
+        assertEquals("Duplicate pid 1", duplicate.getMessage());
+    }
+
+    // Small regions so lines get split across mappings and the reader has to cut each one at its last newline
+    @Test
+    void testCsvAcrossRegions() throws IOException {
+        Random random = new Random(7);
+        StringBuilder csv = new StringBuilder("burst,priority,arrival\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append(random.nextInt(1, 100_000)).append(',').append(random.nextInt(1, 10)).append(',')
+                    .append(random.nextInt(0, 1_000_000)).append('\n');
+            if (i % 50 == 0) {
+                csv.append("# comment\n\n");
+            }
+        }
+        csv.append("5,1,3"); // No newline at the end of the last region
+        Path file = write("regions.csv", csv.toString());
+        Workload expected = WorkloadFiles.readCsv(file);
+        assertEquals(501, expected.size());
+
+        for (long regionBytes : new long[] { 24, 37, 100, 4096 }) {
+            try (FileChannel channel = FileChannel.open(file)) {
+                assertSameWorkload(expected, WorkloadFiles.readCsv(channel, regionBytes));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> WorkloadFiles.readCsv(channel, 10));
+            assertTrue(error.getMessage().contains("longer than 10 bytes"), error.getMessage());
+        }
+    }
+
+    @Test
+    void testBinaryRoundTrip() throws IOException {
+        Random random = new Random(5);
+        Workload.Builder builder = new Workload.Builder();
+        for (int pid = 1; pid <= 5000; pid++) {
+            builder.add(pid, random.nextInt(50) + 1, random.nextInt(10), random.nextInt(10_000));
+        }
+        Workload workload = builder.build();
+        Path file = dir.resolve("w.bin");
+        WorkloadFiles.writeBinary(workload, file);
+
+        assertEquals(WorkloadFiles.BINARY_HEADER_BYTES + 5000L * WorkloadFiles.BINARY_RECORD_BYTES, Files.size(file));
+        assertSameWorkload(workload, WorkloadFiles.readBinary(file));
+        // read() recognises the format by its magic number
+        assertSameWorkload(workload, WorkloadFiles.read(file));
+    }
+
+    @Test
+    void testTruncatedBinary() throws IOException {
+        Path file = dir.resolve("w.bin");
+        WorkloadFiles.writeBinary(Workload.of(List.of(new Process(1, 3, 1, 0), new Process(2, 3, 1, 1))), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IllegalArgumentException.class, () -> WorkloadFiles.readBinary(file));
+    }
+
+    @Test
+    void testEngineRunsLoadedWorkload() throws IOException {
+        Path file = write("w.csv", "8,2,0\n4,1,1\n9,3,2\n5,2,3\n");
+        SimulationEngine engine = new SimulationEngine();
+        assertEquals(4, engine.loadWorkload(file));
+        assertTrue(engine.validateProcesses());
+
+        SimulationEngine expected = new SimulationEngine();
+        expected.loadSampleProcesses();
+        assertEquals(expected.runSimulation("SRTF").getAverageWaitingTime(),
+                engine.runSimulation("SRTF").getAverageWaitingTime());
+
+        // Editing turns the loaded workload back into a process list
+        engine.addProcess(5, 4, 2, 1);
+        assertEquals(5, engine.getProcesses().size());
+        assertNotNull(engine.getProcess(2));
+    }
+}
@@ -4,6 +4,16 @@ import Tooltip from './Tooltip';
 
 const BASE_URL = process.env.REACT_APP_BACKEND_URL || "https://cpu-scheduling-sim.fly.dev/api";
 
+// Each browser tab gets its own workspace on the backend so users don't overwrite each other's processes
+const getSessionId = () => {
+    let sessionId = sessionStorage.getItem('sessionId');
+    if (!sessionId) {
+        sessionId = crypto.randomUUID();
+        sessionStorage.setItem('sessionId', sessionId);
+    }
+    return sessionId;
+};
+
 const AlgorithmList = ({ processes, onSimulationComplete }) => {
     const [loading, setLoading] = useState(false);
     const [selectedAlgorithm, setSelectedAlgorithm] = useState(null);
@@ -43,6 +53,7 @@ const AlgorithmList = ({ processes, onSimulationComplete }) => {
                 method: 'POST',
                 headers: {
                     'Content-Type': 'application/json',
+                    'X-Session-Id': getSessionId(),
                 },
                 body: JSON.stringify(processData)
             });
@@ -59,6 +70,7 @@ const AlgorithmList = ({ processes, onSimulationComplete }) => {
                     method: 'POST',
                     headers: {
                         'Content-Type': 'application/json',
+                        'X-Session-Id': getSessionId(),
                     }
                 }
             );